@@ -0,0 +1,33 @@
+package com.schoolerp.student.common;
+
+import lombok.experimental.UtilityClass;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this service instance, recorded as the owner of the database leases it holds
+ * (background jobs, scheduled maintenance)
+ */
+@UtilityClass
+public class InstanceIdentity {
+
+    private static final String INSTANCE_ID = resolveInstanceId();
+
+    /**
+     * Host name plus a random suffix, so two instances on one host (or a restarted one) never share an id
+     */
+    public static String getInstanceId() {
+        return INSTANCE_ID;
+    }
+
+    private static String resolveInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.schoolerp.student.common;
+
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.exception.CustomException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset (seek) pagination
+ * Encodes the sort key of the last row returned, so the next page seeks past it instead of using OFFSET
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Sort value of the last row (may be null for cursors that seek on id alone)
+     */
+    private final LocalDateTime sortValue;
+
+    /**
+     * Id of the last row, used as the tie-breaker
+     */
+    private final Integer id;
+
+    /**
+     * Encodes this cursor as a URL-safe token
+     *
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = (sortValue != null ? sortValue.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}
+     *
+     * @param token Opaque cursor string, may be null or blank for the first page
+     * @return Decoded cursor or null when no cursor was supplied
+     * @throws CustomException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String sortPart = raw.substring(0, separator);
+            return new KeysetCursor(
+                sortPart.isEmpty() ? null : LocalDateTime.parse(sortPart),
+                Integer.valueOf(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new CustomException("Invalid pagination cursor", ServiceConstants.ERROR_CODE, "INVALID_CURSOR");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.schoolerp.student.common;
+
+import com.schoolerp.student.dto.CacheStatsDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small in-process cache with a bounded size (least recently used entries are evicted first),
+ * a per-entry time-to-live and hit/miss/eviction statistics exported to Micrometer
+ * Null values are never cached; callers that want negative caching store an {@link Optional}
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LocalCache<K, V> {
+
+    private final String name;
+    private final int maximumSize;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    private record CachedValue<V>(V value, long expiresAtNanos) {
+    }
+
+    public LocalCache(String name, int maximumSize, Duration ttl) {
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                if (size() > LocalCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss
+     * The loader runs outside the cache lock, so a slow load never blocks readers of other keys
+     *
+     * @param key Cache key
+     * @param loader Computes the value on a miss; a null result is returned but not cached
+     * @return Cached or freshly loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value without loading it, counting a hit or a miss
+     */
+    public Optional<V> getIfPresent(K key) {
+        synchronized (entries) {
+            CachedValue<V> cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAtNanos() - System.nanoTime() > 0) {
+                    hits.increment();
+                    return Optional.of(cached.value());
+                }
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new CachedValue<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches the predicate
+     */
+    public void invalidateIf(Predicate<? super K> predicate) {
+        synchronized (entries) {
+            Iterator<K> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (predicate.test(keys.next())) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the entry for the key if its current value matches the predicate
+     */
+    public void invalidateIf(K key, Predicate<? super V> predicate) {
+        synchronized (entries) {
+            CachedValue<V> cached = entries.get(key);
+            if (cached != null && predicate.test(cached.value())) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registers size, gets (hit/miss) and eviction meters following Micrometer's cache naming
+     */
+    public LocalCache<K, V> bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", this, LocalCache::size)
+            .tag("cache", name)
+            .register(registry);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+            .tag("cache", name).tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+            .tag("cache", name).tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+            .tag("cache", name)
+            .register(registry);
+        return this;
+    }
+
+    public CacheStatsDto stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return CacheStatsDto.builder()
+            .name(name)
+            .size(size())
+            .maximumSize(maximumSize)
+            .ttlSeconds(Duration.ofNanos(ttlNanos).toSeconds())
+            .hitCount(hitCount)
+            .missCount(missCount)
+            .evictionCount(evictions.sum())
+            .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+            .build();
+    }
+}
@@ -93,6 +93,8 @@ public class StandardResponse<T> {
         private Integer totalPages;
         private Long executionTimeMs;
         private String operation;
+        private String nextCursor;
+        private Boolean hasMore;
     }
     
     /**
@@ -0,0 +1,128 @@
+package com.schoolerp.student.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for background work, so long-running jobs never tie up request threads
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.jobs.executor.core-size:2}")
+    private int jobCoreSize;
+
+    @Value("${app.jobs.executor.max-size:4}")
+    private int jobMaxSize;
+
+    @Value("${app.jobs.executor.queue-capacity:100}")
+    private int jobQueueCapacity;
+
+    @Value("${app.export.executor.core-size:4}")
+    private int exportCoreSize;
+
+    @Value("${app.export.executor.max-size:8}")
+    private int exportMaxSize;
+
+    @Value("${app.export.executor.queue-capacity:50}")
+    private int exportQueueCapacity;
+
+    /**
+     * Runs student exports, which stream the roster into the response for as long as the download takes
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingResponseExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportCoreSize);
+        executor.setMaxPoolSize(exportMaxSize);
+        executor.setQueueCapacity(exportQueueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${app.documents.upload.parallelism:8}")
+    private int uploadParallelism;
+
+    @Value("${app.documents.upload.queue-capacity:200}")
+    private int uploadQueueCapacity;
+
+    /**
+     * Runs document uploads to S3 in parallel; when saturated the calling request thread uploads itself
+     */
+    @Bean
+    public ThreadPoolTaskExecutor documentUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadParallelism);
+        executor.setMaxPoolSize(uploadParallelism);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("doc-upload-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${app.documents.preview.workers:2}")
+    private int previewWorkers;
+
+    @Value("${app.documents.preview.queue-capacity:500}")
+    private int previewQueueCapacity;
+
+    /**
+     * Generates document previews off the request path; rejects work when the queue is full
+     * (the scheduled backfill picks those documents up later)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor documentPreviewExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(previewWorkers);
+        executor.setMaxPoolSize(previewWorkers);
+        executor.setQueueCapacity(previewQueueCapacity);
+        executor.setThreadNamePrefix("doc-preview-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor batchJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobCoreSize);
+        executor.setMaxPoolSize(jobMaxSize);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("batch-job-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Carries the caller's logId/requestId into worker threads so job logs stay correlated
+     */
+    static TaskDecorator mdcPropagatingDecorator() {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        };
+    }
+}
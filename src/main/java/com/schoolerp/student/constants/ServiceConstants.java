@@ -12,6 +12,10 @@ public class ServiceConstants {
     public static final String STUDENT_ALREADY_EXISTS = "Student already exists with the given admission number";
     public static final String INTERNAL_SERVER_ERROR = "Internal server error occurred";
 
+    // Optional parts of the student profile, selected with the include= parameter
+    public static final String PROFILE_INCLUDE_DOCUMENTS = "documents";
+    public static final String PROFILE_INCLUDE_FEES = "fees";
+
 
     public static final String ERROR_CODE="0000";
     public static final String SUCCESS_CODE="1111";
@@ -0,0 +1,62 @@
+package com.schoolerp.student.controller;
+
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.common.StandardResponse;
+import com.schoolerp.student.dto.CacheStatsDto;
+import com.schoolerp.student.service.CommonMasterCache;
+import com.schoolerp.student.service.FeeStructureCache;
+import com.schoolerp.student.service.PublishedResultsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/student-service/")
+@RequiredArgsConstructor
+@Slf4j
+public class MasterDataController {
+
+    private final CommonMasterCache commonMasterCache;
+    private final FeeStructureCache feeStructureCache;
+    private final PublishedResultsCache publishedResultsCache;
+
+    @GetMapping("/master-data/cache")
+    public ResponseEntity<StandardResponse<List<CacheStatsDto>>> getCacheStats() {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /master-data/cache", logId);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("GET_MASTER_DATA_CACHE_STATS")
+                .build();
+
+        List<CacheStatsDto> stats = new ArrayList<>(commonMasterCache.stats());
+        stats.add(feeStructureCache.stats());
+        stats.add(publishedResultsCache.stats());
+
+        return ResponseEntity.ok(StandardResponse.success(stats, "Cache statistics retrieved successfully", metadata));
+    }
+
+    @PostMapping("/master-data/cache/refresh")
+    public ResponseEntity<StandardResponse<List<CacheStatsDto>>> refreshCache() {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /master-data/cache/refresh", logId);
+
+        List<CacheStatsDto> stats = new ArrayList<>(commonMasterCache.refresh());
+        // Fee structures embed master labels, so they are rebuilt together
+        feeStructureCache.evictAll();
+        stats.add(feeStructureCache.stats());
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("REFRESH_MASTER_DATA_CACHE")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(stats, "Master data cache refreshed", metadata));
+    }
+}
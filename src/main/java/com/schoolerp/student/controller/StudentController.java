@@ -4,17 +4,31 @@ import com.schoolerp.student.common.LogContext;
 import com.schoolerp.student.common.StandardResponse;
 import com.schoolerp.student.dto.*;
 import com.schoolerp.student.entity.IdCard;
-import com.schoolerp.student.entity.Marksheet;
 import com.schoolerp.student.service.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/student-service/")
@@ -28,11 +42,32 @@ public class StudentController {
     private final IdCardServiceIMPL idCardService;
     @Autowired
     private final MarksheetServiceIMPL marksheetService;
+    @Autowired
+    private final PromotionJobService promotionJobService;
+    @Autowired
+    private final StudentExportService studentExportService;
+    @Autowired
+    private final StudentImportService studentImportService;
+    @Autowired
+    private final MarksheetImportService marksheetImportService;
+    @Autowired
+    private final IdCardIssuanceJobService idCardIssuanceJobService;
+    private final ThreadPoolTaskExecutor streamingResponseExecutor;
 
-    public StudentController(StudentServiceImpl studentService, IdCardServiceIMPL idCardService, MarksheetServiceIMPL marksheetService) {
+    @Value("${app.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
+    public StudentController(StudentServiceImpl studentService, IdCardServiceIMPL idCardService, MarksheetServiceIMPL marksheetService, PromotionJobService promotionJobService, StudentExportService studentExportService, StudentImportService studentImportService, IdCardIssuanceJobService idCardIssuanceJobService, MarksheetImportService marksheetImportService,
+                             @Qualifier("streamingResponseExecutor") ThreadPoolTaskExecutor streamingResponseExecutor) {
         this.studentService = studentService;
         this.idCardService = idCardService;
         this.marksheetService = marksheetService;
+        this.promotionJobService = promotionJobService;
+        this.studentExportService = studentExportService;
+        this.studentImportService = studentImportService;
+        this.marksheetImportService = marksheetImportService;
+        this.idCardIssuanceJobService = idCardIssuanceJobService;
+        this.streamingResponseExecutor = streamingResponseExecutor;
     }
 
 
@@ -60,12 +95,100 @@ public class StudentController {
         return ResponseEntity.ok(StandardResponse.success(response, "Students retrieved successfully", metadata));
     }
     
+    @GetMapping("/getStudentListByCursor")
+    public ResponseEntity<StandardResponse<StudentsListResponseDto>> getStudentsByCursor(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(value = "class", required = false) Integer classFilter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /getStudentListByCursor with filters - search: {}, status: {}, class: {}, size: {}",
+                 logId, search, status, classFilter, size);
+
+        StudentsListResponseDto response = studentService.getStudentsByCursor(search, status, classFilter, cursor, size, includeTotal);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .totalRecords(response.getTotal())
+                .pageSize(size != null && size > 0 ? Math.min(size, 100) : 20)
+                .nextCursor(response.getNextCursor())
+                .hasMore(response.getNextCursor() != null)
+                .operation("GET_STUDENTS_BY_CURSOR")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(response, "Students retrieved successfully", metadata));
+    }
+    
+    /**
+     * Streams the whole (filtered) roster as NDJSON or CSV without paging or buffering it in memory.
+     * The export runs on its own bounded pool, so long downloads never hold request threads or other async work.
+     */
+    @GetMapping("/exportStudents")
+    public WebAsyncTask<Void> exportStudents(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(value = "class", required = false) Integer classFilter,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /exportStudents - format: {}, status: {}, class: {}, gzip: {}",
+                 logId, format, status, classFilter, gzip);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String fileName = "students." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+
+        return new WebAsyncTask<>(exportTimeoutMs, streamingResponseExecutor, () -> {
+            OutputStream outputStream = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                studentExportService.exportStudents(exportFormat, status, classFilter, gzipStream);
+                gzipStream.finish();
+            } else {
+                studentExportService.exportStudents(exportFormat, status, classFilter, outputStream);
+            }
+            outputStream.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Bulk-creates students from a JSON array, NDJSON or CSV body (header row of field names).
+     * The format comes from the {@code format} parameter or the Content-Type; rows are streamed, not buffered.
+     */
+    @PostMapping("/importStudents")
+    public ResponseEntity<StandardResponse<StudentImportResultDto>> importStudents(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request) throws IOException {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /importStudents - format: {}, content type: {}", logId, format, contentType);
+
+        StudentImportResultDto result = studentImportService.importStudents(request.getInputStream(), ImportFormat.from(format, contentType));
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("IMPORT_STUDENTS")
+                .totalRecords((long) result.getTotalRows())
+                .build();
+
+        String message = result.getFailed() == 0 && result.isCompleted()
+                ? "Students imported successfully"
+                : "Students imported with " + result.getFailed() + " rejected rows";
+        return ResponseEntity.ok(StandardResponse.success(result, message, metadata));
+    }
+
     @GetMapping("getStudentById/{id}")
-    public ResponseEntity<StandardResponse<StudentResponseDto>> getStudentById(@PathVariable Integer id) {
+    public ResponseEntity<StandardResponse<StudentResponseDto>> getStudentById(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Set<String> include) {
         String logId = LogContext.getLogId();
-        log.info("logId: {} - API call: GET /api/students/{}", logId, id);
+        log.info("logId: {} - API call: GET /api/students/{}, include: {}", logId, id, include);
         
-        StudentResponseDto student = studentService.getStudentById(id);
+        StudentResponseDto student = studentService.getStudentById(id, include);
         
         StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
                 .operation("GET_STUDENT_BY_ID")
@@ -121,30 +244,99 @@ public class StudentController {
     }
     
     @PostMapping("/promote")
-    public ResponseEntity<StandardResponse<Void>> promoteStudents(@Valid @RequestBody PromoteStudentsRequestDto requestDto) {
+    public ResponseEntity<StandardResponse<PromotionResultDto>> promoteStudents(@Valid @RequestBody PromoteStudentsRequestDto requestDto) {
         String logId = LogContext.getLogId();
         log.info("logId: {} - API call: POST /api/students/promote for {} students from {}-{} to {}-{}", 
                  logId, requestDto.getStudentIds().size(),
                  requestDto.getFromClass(), requestDto.getFromSection(),
                  requestDto.getToClass(), requestDto.getToSection());
         
-        studentService.promoteStudents(requestDto);
+        PromotionResultDto result = studentService.promoteStudents(requestDto);
         
         StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
                 .operation("PROMOTE_STUDENTS")
-                .totalRecords((long) requestDto.getStudentIds().size())
+                .totalRecords((long) result.getTotalRequested())
+                .executionTimeMs(result.getDurationMs())
                 .build();
         
-        return ResponseEntity.ok(StandardResponse.success("Students promoted successfully"));
+        String message = result.getFailed() == 0
+                ? "Students promoted successfully"
+                : "Students promoted with " + result.getFailed() + " failures";
+        return ResponseEntity.ok(StandardResponse.success(result, message, metadata));
+    }
+    
+    @PostMapping("/promote/jobs")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> submitPromotionJob(@Valid @RequestBody PromoteStudentsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /promote/jobs for {} students from {}-{} to {}-{}",
+                 logId, requestDto.getStudentIds().size(),
+                 requestDto.getFromClass(), requestDto.getFromSection(),
+                 requestDto.getToClass(), requestDto.getToSection());
+
+        BatchJobStatusDto job = promotionJobService.submitPromotion(requestDto);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("SUBMIT_PROMOTION_JOB")
+                .totalRecords((long) job.getTotalItems())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardResponse.success(job, "Promotion job queued", metadata));
+    }
+
+    @GetMapping("/promote/jobs/{jobId}")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> getPromotionJob(@PathVariable String jobId) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /promote/jobs/{}", logId, jobId);
+
+        BatchJobStatusDto job = promotionJobService.getJobStatus(jobId);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("GET_PROMOTION_JOB")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(job, "Promotion job retrieved successfully", metadata));
+    }
+
+    @PostMapping("/promote/jobs/{jobId}/resume")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> resumePromotionJob(@PathVariable String jobId) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /promote/jobs/{}/resume", logId, jobId);
+
+        BatchJobStatusDto job = promotionJobService.resumePromotion(jobId);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("RESUME_PROMOTION_JOB")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardResponse.success(job, "Promotion job resumed", metadata));
     }
     
     // ID Cards endpoints
     @GetMapping("/id-cards")
-    public ResponseEntity<List<IdCard>> getAllIdCards() {
-        log.info("Fetching all ID cards");
-        
-        List<IdCard> idCards = idCardService.getAllIdCards();
-        return ResponseEntity.ok(idCards);
+    public ResponseEntity<StandardResponse<IdCardListResponseDto>> getIdCards(
+            @RequestParam(required = false) String studentId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validToFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validToUntil,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /id-cards with filters - studentId: {}, status: {}, validTo: {}..{}, size: {}",
+                 logId, studentId, status, validToFrom, validToUntil, size);
+
+        IdCardListResponseDto response = idCardService.getIdCards(studentId, status, validToFrom, validToUntil, cursor, size);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .pageSize(size != null && size > 0 ? Math.min(size, 100) : 20)
+                .nextCursor(response.getNextCursor())
+                .hasMore(response.getNextCursor() != null)
+                .operation("GET_ID_CARDS")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(response, "ID cards retrieved successfully", metadata));
     }
     
     @PostMapping("/id-cards")
@@ -155,21 +347,245 @@ public class StudentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdIdCard);
     }
     
+    /**
+     * Verifies a scanned ID card (signed QR payload or card number) for gate scanners
+     */
+    @GetMapping("/id-cards/verify")
+    public ResponseEntity<StandardResponse<IdCardVerificationDto>> verifyIdCard(
+            @RequestParam(required = false) String qr,
+            @RequestParam(required = false) String cardNumber) {
+        String logId = LogContext.getLogId();
+        log.debug("logId: {} - API call: GET /id-cards/verify, cardNumber: {}", logId, cardNumber);
+
+        IdCardVerificationDto verification = idCardService.verifyIdCard(qr, cardNumber);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("VERIFY_ID_CARD")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(verification, "ID card verified", metadata));
+    }
+
+    /**
+     * Queues ID card issuance for every student of a class/section; poll the returned job for progress
+     */
+    @PostMapping("/id-cards/issue-jobs")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> submitIdCardIssuance(@Valid @RequestBody IssueIdCardsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /id-cards/issue-jobs for class {}-{}, academic year {}",
+                 logId, requestDto.getClassId(), requestDto.getSection(), requestDto.getAcademicYear());
+
+        BatchJobStatusDto job = idCardIssuanceJobService.submitIssuance(requestDto);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("SUBMIT_ID_CARD_ISSUANCE_JOB")
+                .totalRecords((long) job.getTotalItems())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardResponse.success(job, "ID card issuance job queued", metadata));
+    }
+
+    @GetMapping("/id-cards/issue-jobs/{jobId}")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> getIdCardIssuanceJob(@PathVariable String jobId) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /id-cards/issue-jobs/{}", logId, jobId);
+
+        BatchJobStatusDto job = idCardIssuanceJobService.getJobStatus(jobId);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("GET_ID_CARD_ISSUANCE_JOB")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(job, "ID card issuance job retrieved successfully", metadata));
+    }
+
+    @PostMapping("/id-cards/issue-jobs/{jobId}/resume")
+    public ResponseEntity<StandardResponse<BatchJobStatusDto>> resumeIdCardIssuanceJob(@PathVariable String jobId) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /id-cards/issue-jobs/{}/resume", logId, jobId);
+
+        BatchJobStatusDto job = idCardIssuanceJobService.resumeIssuance(jobId);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("RESUME_ID_CARD_ISSUANCE_JOB")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardResponse.success(job, "ID card issuance job resumed", metadata));
+    }
+
     // Marksheets endpoints
     @GetMapping("/marksheets")
-    public ResponseEntity<List<Marksheet>> getAllMarksheets() {
-        log.info("Fetching all marksheets");
-        
-        List<Marksheet> marksheets = marksheetService.getAllMarksheets();
-        return ResponseEntity.ok(marksheets);
+    public ResponseEntity<StandardResponse<MarksheetListResponseDto>> getMarksheets(
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String examType,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean includeSubjects,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /marksheets with filters - academicYear: {}, class: {}, section: {}, examType: {}, status: {}, size: {}",
+                 logId, academicYear, className, section, examType, status, size);
+
+        MarksheetListResponseDto response = marksheetService.getMarksheets(academicYear, className, section, examType,
+                status, includeSubjects, cursor, size);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .pageSize(response.getMarksheets().size())
+                .nextCursor(response.getNextCursor())
+                .hasMore(response.getNextCursor() != null)
+                .operation("GET_MARKSHEETS")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(response, "Marksheets retrieved successfully", metadata));
     }
     
     @PostMapping("/marksheets")
-    public ResponseEntity<Marksheet> createMarksheet(@Valid @RequestBody MarksheetRequestDto requestDto) {
+    public ResponseEntity<MarksheetResponseDto> createMarksheet(@Valid @RequestBody MarksheetRequestDto requestDto) {
         log.info("Creating marksheet for student: {}", requestDto.getStudentId());
         
-        Marksheet createdMarksheet = marksheetService.createMarksheet(requestDto);
+        MarksheetResponseDto createdMarksheet = marksheetService.createMarksheet(requestDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdMarksheet);
     }
 
+    /**
+     * Bulk-creates marksheets from a JSON array, NDJSON or CSV body (header row of field names)
+     * and re-ranks the affected cohorts. Rows are streamed, not buffered.
+     */
+    @PostMapping("/marksheets/import")
+    public ResponseEntity<StandardResponse<MarksheetImportResultDto>> importMarksheets(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request) throws IOException {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /marksheets/import - format: {}, content type: {}", logId, format, contentType);
+
+        MarksheetImportResultDto result = marksheetImportService.importMarksheets(request.getInputStream(), ImportFormat.from(format, contentType));
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("IMPORT_MARKSHEETS")
+                .totalRecords((long) result.getTotalRows())
+                .build();
+
+        String message = result.getFailed() == 0 && result.isCompleted()
+                ? "Marksheets imported successfully"
+                : "Marksheets imported with " + result.getFailed() + " rejected rows";
+        return ResponseEntity.ok(StandardResponse.success(result, message, metadata));
+    }
+
+    /**
+     * Publishes every DRAFT marksheet of an exam cohort in one statement
+     */
+    @PostMapping("/marksheets/publish")
+    public ResponseEntity<StandardResponse<Integer>> publishMarksheets(@Valid @RequestBody PublishMarksheetsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /marksheets/publish - academicYear: {}, examType: {}, class: {}, section: {}",
+                 logId, requestDto.getAcademicYear(), requestDto.getExamType(), requestDto.getClassName(), requestDto.getSection());
+
+        int published = marksheetService.publishMarksheets(requestDto);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("PUBLISH_MARKSHEETS")
+                .totalRecords((long) published)
+                .build();
+        return ResponseEntity.ok(StandardResponse.success(published, "Marksheets published successfully", metadata));
+    }
+
+    /**
+     * Published marksheets of a student, written straight from pre-encoded JSON for the results-day read peak
+     */
+    @GetMapping("/marksheets/student/{studentId}/published")
+    public ResponseEntity<byte[]> getPublishedMarksheets(@PathVariable String studentId) {
+        log.debug("Fetching published marksheets for student: {}", studentId);
+
+        byte[] body = marksheetService.getPublishedMarksheetsJson(studentId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
+    @PutMapping("/marksheets/{id}")
+    public ResponseEntity<MarksheetResponseDto> updateMarksheet(@PathVariable Integer id, @Valid @RequestBody MarksheetRequestDto requestDto) {
+        log.info("Updating marksheet {} for student: {}", id, requestDto.getStudentId());
+
+        MarksheetResponseDto updatedMarksheet = marksheetService.updateMarksheet(id, requestDto);
+        return ResponseEntity.ok(updatedMarksheet);
+    }
+
+    /**
+     * Recomputes the ranks of one (academicYear, className, section, examType) cohort
+     */
+    @PostMapping("/marksheets/ranks/recompute")
+    public ResponseEntity<StandardResponse<RankComputationResultDto>> recomputeMarksheetRanks(
+            @RequestParam String academicYear,
+            @RequestParam String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String examType) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /marksheets/ranks/recompute - academicYear: {}, class: {}, section: {}, examType: {}",
+                 logId, academicYear, className, section, examType);
+
+        RankComputationResultDto result = marksheetService.recomputeRanks(academicYear, className, section, examType);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .totalRecords((long) result.getRanked())
+                .operation("RECOMPUTE_MARKSHEET_RANKS")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(result, "Marksheet ranks recomputed successfully", metadata));
+    }
+
+    /**
+     * Per-subject averages for a cohort, aggregated in the database
+     */
+    @GetMapping("/marksheets/subject-stats")
+    public ResponseEntity<StandardResponse<List<SubjectStatsRow>>> getSubjectStats(
+            @RequestParam String academicYear,
+            @RequestParam(required = false) String examType,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /marksheets/subject-stats - academicYear: {}, examType: {}, class: {}, section: {}",
+                 logId, academicYear, examType, className, section);
+
+        List<SubjectStatsRow> stats = marksheetService.getSubjectStats(academicYear, examType, className, section);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .totalRecords((long) stats.size())
+                .operation("GET_SUBJECT_STATS")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(stats, "Subject statistics retrieved successfully", metadata));
+    }
+
+    /**
+     * Highest scorers of one subject in a cohort
+     */
+    @GetMapping("/marksheets/subject-toppers")
+    public ResponseEntity<StandardResponse<List<SubjectTopperRow>>> getSubjectToppers(
+            @RequestParam String academicYear,
+            @RequestParam String subject,
+            @RequestParam(required = false) String examType,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) Integer limit) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /marksheets/subject-toppers - academicYear: {}, subject: {}, examType: {}, class: {}, section: {}",
+                 logId, academicYear, subject, examType, className, section);
+
+        List<SubjectTopperRow> toppers = marksheetService.getSubjectToppers(academicYear, subject, examType, className, section, limit);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .totalRecords((long) toppers.size())
+                .operation("GET_SUBJECT_TOPPERS")
+                .build();
+
+        return ResponseEntity.ok(StandardResponse.success(toppers, "Subject toppers retrieved successfully", metadata));
+    }
+
 }
@@ -1,23 +1,40 @@
 package com.schoolerp.student.controller;
 
 
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.common.StandardResponse;
+import com.schoolerp.student.dto.BulkDeleteDocumentsRequestDto;
+import com.schoolerp.student.dto.CompleteUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUrlDto;
+import com.schoolerp.student.dto.StudentDocumentDownload;
 import com.schoolerp.student.dto.StudentDocumentRequest;
 import com.schoolerp.student.dto.StudentDocumentRequestList;
 import com.schoolerp.student.entity.StudentDocument;
 import com.schoolerp.student.service.StudentDocumentService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/student-service/")
 @RequiredArgsConstructor
+@Slf4j
 public class StudentDocumentController {
 
+    private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+
     private final StudentDocumentService documentService;
 
     @PostMapping(value = "/uploadDocuments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -29,6 +46,119 @@ public class StudentDocumentController {
     }
 
 
+    /**
+     * Streams a document from S3 to the client in fixed-size buffers; supports Range and If-None-Match
+     */
+    @GetMapping("documents/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadDocument(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /documents/{}/download, range: {}", logId, id, range);
+
+        StudentDocumentDownload download = documentService.openDocument(id, range, ifNoneMatch);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(download.getStatus())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (download.getETag() != null) {
+            response.eTag(download.getETag());
+        }
+        if (download.getContentRange() != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, download.getContentRange());
+        }
+        if (download.getContent() == null) {
+            return response.build();
+        }
+
+        response.contentType(download.getContentType() != null
+                        ? MediaType.parseMediaType(download.getContentType())
+                        : MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.getFileName() != null ? download.getFileName() : "document-" + id, StandardCharsets.UTF_8)
+                        .build().toString());
+        if (download.getContentLength() != null) {
+            response.contentLength(download.getContentLength());
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream content = download.getContent()) {
+                byte[] buffer = new byte[DOWNLOAD_BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+                outputStream.flush();
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * Issues a presigned PUT URL so the client uploads the file directly to S3
+     */
+    @PostMapping("documents/presign-upload")
+    public ResponseEntity<StandardResponse<PresignedUrlDto>> presignUpload(@Valid @RequestBody PresignedUploadRequestDto request) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /documents/presign-upload for student {}", logId, request.getStudentId());
+
+        PresignedUrlDto url = documentService.presignUpload(request);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("PRESIGN_DOCUMENT_UPLOAD")
+                .build();
+        return ResponseEntity.ok(StandardResponse.success(url, "Upload URL issued successfully", metadata));
+    }
+
+    /**
+     * Completion callback after a direct upload; registers the document row
+     */
+    @PostMapping("documents/complete-upload")
+    public ResponseEntity<StandardResponse<StudentDocument>> completeUpload(@Valid @RequestBody CompleteUploadRequestDto request) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /documents/complete-upload for key {}", logId, request.getKey());
+
+        StudentDocument document = documentService.completeUpload(request);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("COMPLETE_DOCUMENT_UPLOAD")
+                .build();
+        return ResponseEntity.ok(StandardResponse.success(document, "Document registered successfully", metadata));
+    }
+
+    /**
+     * Issues a presigned GET URL so the client downloads the file directly from S3
+     */
+    @GetMapping("documents/{id}/presign-download")
+    public ResponseEntity<StandardResponse<PresignedUrlDto>> presignDownload(@PathVariable Integer id) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: GET /documents/{}/presign-download", logId, id);
+
+        PresignedUrlDto url = documentService.presignDownload(id);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("PRESIGN_DOCUMENT_DOWNLOAD")
+                .build();
+        return ResponseEntity.ok(StandardResponse.success(url, "Download URL issued successfully", metadata));
+    }
+
+    /**
+     * Soft-deletes documents by id or every document of a student in one statement;
+     * the files are removed from S3 by the purge job after the retention window
+     */
+    @PostMapping("documents/bulk-delete")
+    public ResponseEntity<StandardResponse<Integer>> bulkDeleteDocuments(@RequestBody BulkDeleteDocumentsRequestDto request) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - API call: POST /documents/bulk-delete, studentId: {}", logId, request.getStudentId());
+
+        int deleted = documentService.deleteStudentDocuments(request);
+
+        StandardResponse.ResponseMetadata metadata = StandardResponse.ResponseMetadata.builder()
+                .operation("BULK_DELETE_DOCUMENTS")
+                .build();
+        return ResponseEntity.ok(StandardResponse.success(deleted, "Documents deleted successfully", metadata));
+    }
+
         @DeleteMapping("delete/{id}")
         public ResponseEntity<String> deleteDocument(@PathVariable Integer id) {
             documentService.deleteStudentDocument(id);
@@ -0,0 +1,65 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.schoolerp.student.entity.BatchJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobStatusDto {
+
+    private String jobId;
+    private String jobType;
+    private String status;
+
+    private int totalItems;
+    private int processedItems;
+    private int failedItems;
+    private int skippedItems;
+
+    private int totalChunks;
+    private int completedChunks;
+    private double percentComplete;
+
+    /**
+     * Items processed per second of actual processing time
+     */
+    private double throughputPerSecond;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime finishedAt;
+
+    private String lastError;
+
+    public static BatchJobStatusDto from(BatchJob job) {
+        int totalChunks = job.getTotalChunks() != null ? job.getTotalChunks() : 0;
+        long processingMillis = job.getProcessingMillis() != null ? job.getProcessingMillis() : 0L;
+        return BatchJobStatusDto.builder()
+            .jobId(job.getId())
+            .jobType(job.getJobType().name())
+            .status(job.getStatus().name())
+            .totalItems(job.getTotalItems())
+            .processedItems(job.getProcessedItems())
+            .failedItems(job.getFailedItems())
+            .skippedItems(job.getSkippedItems())
+            .totalChunks(totalChunks)
+            .completedChunks(job.getCompletedChunks())
+            .percentComplete(totalChunks == 0 ? 0.0 : Math.round(job.getCompletedChunks() * 1000.0 / totalChunks) / 10.0)
+            .throughputPerSecond(processingMillis == 0 ? 0.0
+                : Math.round(job.getProcessedItems() * 10000.0 / processingMillis) / 10.0)
+            .startedAt(job.getStartedAt())
+            .finishedAt(job.getFinishedAt())
+            .lastError(job.getLastError())
+            .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Documents to soft-delete: either an explicit list of ids or every document of one student
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteDocumentsRequestDto {
+
+    private List<Integer> documentIds;
+
+    private Integer studentId;
+}
@@ -0,0 +1,21 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long size;
+    private long maximumSize;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
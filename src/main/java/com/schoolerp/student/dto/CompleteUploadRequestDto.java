@@ -0,0 +1,26 @@
+package com.schoolerp.student.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompleteUploadRequestDto {
+
+    @NotNull(message = "Student id is required")
+    private Integer studentId;
+
+    private String documentType;
+
+    private String documentName;
+
+    /**
+     * Object key returned by the presign-upload call
+     */
+    @NotBlank(message = "Key is required")
+    private String key;
+}
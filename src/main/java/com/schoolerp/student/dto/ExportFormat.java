@@ -0,0 +1,35 @@
+package com.schoolerp.student.dto;
+
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.exception.CustomException;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Output formats supported by the streaming exports
+ */
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Unsupported export format: " + value, ServiceConstants.ERROR_CODE, "INVALID_EXPORT_FORMAT");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.schoolerp.student.dto;
+
+import com.schoolerp.student.entity.IdCard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the columns needed to verify a card, used to build and refresh
+ * the in-memory card status index without loading full entities
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdCardStatusRow {
+    private Integer id;
+    private String cardNumber;
+    private String studentId;
+    private IdCard.CardStatus status;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.schoolerp.student.entity.IdCard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the ID card columns shown in listings, read without loading full entities
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdCardSummaryRow {
+    private Integer id;
+    private String studentId;
+    private String cardNumber;
+    private IdCard.CardStatus status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate issueDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validTo;
+
+    private String photoUrl;
+}
@@ -0,0 +1,39 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IdCardVerificationDto {
+
+    private boolean valid;
+
+    /**
+     * VALID, INVALID_SIGNATURE, NOT_FOUND, NOT_YET_VALID, EXPIRED, the card's status when it is not active,
+     * or UNVERIFIED when the card's status could not be looked up
+     */
+    private String result;
+
+    private String cardNumber;
+    private String studentId;
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validTo;
+
+    /**
+     * Where the answer came from: INDEX (in-memory), DATABASE, SIGNATURE for rejections decided by the QR signature
+     * alone, or UNAVAILABLE when neither the index nor the database could answer
+     */
+    private String source;
+}
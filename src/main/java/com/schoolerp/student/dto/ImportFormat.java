@@ -0,0 +1,36 @@
+package com.schoolerp.student.dto;
+
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.exception.CustomException;
+
+import java.util.Locale;
+
+/**
+ * Input formats accepted by the bulk imports
+ */
+public enum ImportFormat {
+    JSON,
+    NDJSON,
+    CSV;
+
+    /**
+     * Resolves the format from an explicit {@code format} parameter, falling back to the request content type
+     */
+    public static ImportFormat from(String value, String contentType) {
+        if (value != null && !value.isBlank()) {
+            try {
+                return ImportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new CustomException("Unsupported import format: " + value, ServiceConstants.ERROR_CODE, "INVALID_IMPORT_FORMAT");
+            }
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("ndjson") || type.contains("jsonl")) {
+            return NDJSON;
+        }
+        if (type.contains("csv")) {
+            return CSV;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,34 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Issues ID cards to every student of a class/section in an academic year
+ */
+@Data
+public class IssueIdCardsRequestDto {
+
+    @NotNull(message = "Class is required")
+    @Min(value = 1, message = "Class must be greater than 0")
+    private Integer classId;
+
+    @NotNull(message = "Section is required")
+    @Min(value = 1, message = "Section must be greater than 0")
+    private Integer section;
+
+    @NotNull(message = "Academic year is required")
+    private Integer academicYear;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validTo;
+
+    private String issueReason = "Academic Year Issuance";
+}
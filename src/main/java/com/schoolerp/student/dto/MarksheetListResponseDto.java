@@ -0,0 +1,22 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MarksheetListResponseDto {
+
+    private List<MarksheetSummaryRow> marksheets;
+
+    /**
+     * Cursor for the next page; null on the last page
+     */
+    private String nextCursor;
+}
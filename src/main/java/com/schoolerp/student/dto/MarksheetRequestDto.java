@@ -3,8 +3,10 @@ package com.schoolerp.student.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 public class MarksheetRequestDto {
@@ -21,6 +23,12 @@ public class MarksheetRequestDto {
     private String section;
     
     private String subjects;
+
+    /**
+     * Structured marks per subject; when given, totals default to their sums and the rows feed subject analytics
+     */
+    @Valid
+    private List<SubjectMarkDto> subjectMarks;
     
     private Integer totalMarks = 0;
     
@@ -30,6 +38,9 @@ public class MarksheetRequestDto {
     
     private String grade;
     
+    /**
+     * Ignored; ranks are computed by the service within the marksheet's cohort
+     */
     private Integer rank = 0;
     
     private String result = "Pass";
@@ -0,0 +1,28 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.schoolerp.student.entity.Marksheet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A marksheet with its structured subject marks, serialized as the marksheet's fields plus {@code subjectMarks}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksheetResponseDto {
+
+    @JsonUnwrapped
+    private Marksheet marksheet;
+
+    /**
+     * Subject marks stored in {@code marksheet_subjects}; null for marksheets recorded with totals only
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SubjectMarkDto> subjectMarks;
+}
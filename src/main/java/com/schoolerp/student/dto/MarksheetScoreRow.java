@@ -0,0 +1,17 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Score and current rank of one marksheet in a cohort, read without the heavy text columns
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarksheetScoreRow {
+    private Integer id;
+    private Double percentage;
+    private Integer rank;
+}
@@ -0,0 +1,16 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Legacy subjects column of one marksheet, read without loading the rest of the entity
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarksheetSubjectsRow {
+    private Integer id;
+    private String subjects;
+}
@@ -0,0 +1,57 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.schoolerp.student.entity.Marksheet;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projection of the marksheet columns shown in listings; the subject payloads are only filled in on request
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MarksheetSummaryRow {
+    private Integer id;
+    private String studentId;
+    private String examType;
+    private String academicYear;
+    private String className;
+    private String section;
+    private Integer totalMarks;
+    private Integer maxTotalMarks;
+    private Double percentage;
+    private String grade;
+    private Integer rank;
+    private String result;
+    private Marksheet.MarksheetStatus status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate publishDate;
+
+    private String subjects;
+    private List<SubjectMarkDto> subjectMarks;
+
+    public MarksheetSummaryRow(Integer id, String studentId, String examType, String academicYear, String className,
+                               String section, Integer totalMarks, Integer maxTotalMarks, Double percentage, String grade,
+                               Integer rank, String result, Marksheet.MarksheetStatus status, LocalDate publishDate) {
+        this.id = id;
+        this.studentId = studentId;
+        this.examType = examType;
+        this.academicYear = academicYear;
+        this.className = className;
+        this.section = section;
+        this.totalMarks = totalMarks;
+        this.maxTotalMarks = maxTotalMarks;
+        this.percentage = percentage;
+        this.grade = grade;
+        this.rank = rank;
+        this.result = result;
+        this.status = status;
+        this.publishDate = publishDate;
+    }
+}
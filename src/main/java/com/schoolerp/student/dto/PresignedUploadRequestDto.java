@@ -0,0 +1,30 @@
+package com.schoolerp.student.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadRequestDto {
+
+    @NotNull(message = "Student id is required")
+    private Integer studentId;
+
+    private String documentType;
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String contentType;
+
+    /**
+     * Exact size of the file; when given it is signed into the URL, so S3 rejects a different body
+     */
+    @Positive(message = "Content length must be positive")
+    private Long contentLength;
+}
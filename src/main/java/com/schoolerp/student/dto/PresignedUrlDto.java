@@ -0,0 +1,34 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PresignedUrlDto {
+
+    private String key;
+
+    private String method;
+
+    private String url;
+
+    /**
+     * Headers the client must send unchanged with the request, as they are part of the signature
+     */
+    private Map<String, List<String>> headers;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant expiresAt;
+}
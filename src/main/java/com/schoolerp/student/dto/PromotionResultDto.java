@@ -0,0 +1,55 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionResultDto {
+
+    private int totalRequested;
+
+    private int promoted;
+
+    /**
+     * Requested IDs that were not found or already deleted
+     */
+    private int notFound;
+
+    /**
+     * Students in chunks whose transaction failed and was rolled back
+     */
+    private int failed;
+
+    private int chunkSize;
+
+    private long durationMs;
+
+    @Builder.Default
+    private List<ChunkProgress> chunks = new ArrayList<>();
+
+    /**
+     * Outcome of a single committed (or rolled back) chunk
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkProgress {
+        private int chunkIndex;
+        private int totalChunks;
+        private int requested;
+        private int promoted;
+        private int notFound;
+        private boolean failed;
+        private String error;
+        private long durationMs;
+    }
+}
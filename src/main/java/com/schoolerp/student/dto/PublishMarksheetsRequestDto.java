@@ -0,0 +1,30 @@
+package com.schoolerp.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Cohort whose DRAFT marksheets go live together; class and section are optional narrowing filters
+ */
+@Data
+public class PublishMarksheetsRequestDto {
+
+    @NotBlank(message = "Academic year is required")
+    private String academicYear;
+
+    @NotBlank(message = "Exam type is required")
+    private String examType;
+
+    private String className;
+
+    private String section;
+
+    /**
+     * Defaults to today
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate publishDate;
+}
@@ -0,0 +1,25 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of ranking one (academicYear, className, section, examType) cohort
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankComputationResultDto {
+    private String academicYear;
+    private String className;
+    private String section;
+    private String examType;
+    private int cohortSize;
+    private int ranked;
+    private int distinctRanks;
+    private int updated;
+    private long durationMs;
+}
@@ -0,0 +1,35 @@
+package com.schoolerp.student.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.InputStream;
+
+/**
+ * Open S3 object of a student document, ready to be streamed to the client
+ * {@code content} is null for 304/416 responses; otherwise the caller must close it.
+ */
+@Getter
+@Builder
+public class StudentDocumentDownload {
+
+    /**
+     * HTTP status to answer with: 200, 206 (partial content), 304 (not modified) or 416 (range not satisfiable)
+     */
+    private final int status;
+
+    private final String fileName;
+
+    private final String contentType;
+
+    private final Long contentLength;
+
+    /**
+     * Range sent for a 206, e.g. {@code bytes 0-1023/4096}; for a 416 the unsatisfied-range form carrying the object size
+     */
+    private final String contentRange;
+
+    private final String eTag;
+
+    private final InputStream content;
+}
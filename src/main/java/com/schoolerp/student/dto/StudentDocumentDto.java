@@ -12,4 +12,5 @@ public class StudentDocumentDto {
     private String documentType;
     private String documentName;
     private String s3Url;
+    private String previewUrl;
 }
@@ -0,0 +1,49 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResultDto {
+
+    private int totalRows;
+
+    private int imported;
+
+    private int failed;
+
+    /**
+     * False when the input was malformed and the remaining rows could not be read
+     */
+    @Builder.Default
+    private boolean completed = true;
+
+    private long durationMs;
+
+    /**
+     * One entry per rejected row; rows not listed here were imported
+     */
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /**
+         * 1-based data row number (CSV header and JSON brackets are not counted)
+         */
+        private int row;
+        private String admissionNo;
+        private String message;
+    }
+}
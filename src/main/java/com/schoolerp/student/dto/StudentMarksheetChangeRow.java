@@ -0,0 +1,18 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest marksheet change of one student, used to invalidate cached results
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentMarksheetChangeRow {
+    private String studentId;
+    private LocalDateTime updatedAt;
+}
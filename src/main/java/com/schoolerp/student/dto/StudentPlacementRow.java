@@ -0,0 +1,17 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current class/section of a student, read in bulk before promotion
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPlacementRow {
+    private Integer id;
+    private Integer classApplyingFor;
+    private Integer section;
+}
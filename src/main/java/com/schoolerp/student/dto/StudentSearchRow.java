@@ -0,0 +1,26 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of the searchable student columns,
+ * used to build and refresh the in-memory search index without loading full entities
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSearchRow {
+    private Integer id;
+    private String firstName;
+    private String lastName;
+    private String admissionNo;
+    private Integer status;
+    private Integer classApplyingFor;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean deleted;
+}
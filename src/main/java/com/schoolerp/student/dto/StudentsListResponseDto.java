@@ -1,5 +1,6 @@
 package com.schoolerp.student.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,9 +10,23 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class StudentsListResponseDto {
     
     private List<StudentResponseDto> students;
     
-    private long total;
-}
\ No newline at end of file
+    /**
+     * Total matching records; null when the caller did not ask for a count (cursor pagination)
+     */
+    private Long total;
+
+    /**
+     * Cursor for the next page; null on the last page or for offset pagination
+     */
+    private String nextCursor;
+
+    public StudentsListResponseDto(List<StudentResponseDto> students, Long total) {
+        this.students = students;
+        this.total = total;
+    }
+}
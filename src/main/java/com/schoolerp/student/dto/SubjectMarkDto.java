@@ -0,0 +1,26 @@
+package com.schoolerp.student.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubjectMarkDto {
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 100, message = "Subject must be at most 100 characters")
+    private String subject;
+
+    @NotNull(message = "Marks obtained is required")
+    @Min(value = 0, message = "Marks obtained cannot be negative")
+    private Integer marksObtained;
+
+    @Min(value = 1, message = "Max marks must be greater than 0")
+    private Integer maxMarks = 100;
+}
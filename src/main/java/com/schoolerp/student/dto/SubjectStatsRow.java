@@ -0,0 +1,20 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-subject aggregate over a cohort, computed by the database
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubjectStatsRow {
+    private String subject;
+    private Long students;
+    private Double averageMarks;
+    private Integer minMarks;
+    private Integer maxMarks;
+    private Double averagePercentage;
+}
@@ -0,0 +1,17 @@
+package com.schoolerp.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubjectTopperRow {
+    private String studentId;
+    private Integer marksheetId;
+    private String className;
+    private String section;
+    private Integer marksObtained;
+    private Integer maxMarks;
+}
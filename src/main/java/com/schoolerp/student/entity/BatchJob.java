@@ -0,0 +1,107 @@
+package com.schoolerp.student.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Long-running background job (e.g. bulk promotion) processed in checkpointed chunks
+ * The owner/heartbeat pair acts as a lease so exactly one instance works on a job,
+ * and a job whose lease went stale can be resumed from {@code completedChunks}
+ */
+@Entity
+@Table(name = "batch_jobs", indexes = {
+    @Index(name = "idx_batch_jobs_status_heartbeat", columnList = "status, heartbeatAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class BatchJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private JobStatus status = JobStatus.QUEUED;
+
+    /**
+     * Original request serialized as JSON, replayed when the job resumes
+     */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    private Integer totalItems = 0;
+
+    @Builder.Default
+    private Integer processedItems = 0;
+
+    @Builder.Default
+    private Integer failedItems = 0;
+
+    @Builder.Default
+    private Integer skippedItems = 0;
+
+    private Integer chunkSize;
+
+    private Integer totalChunks;
+
+    /**
+     * Checkpoint: number of chunks already processed, i.e. the index of the next chunk to run
+     */
+    @Builder.Default
+    private Integer completedChunks = 0;
+
+    /**
+     * Time spent actually processing chunks, accumulated across resumes, used for throughput
+     */
+    @Builder.Default
+    private Long processingMillis = 0L;
+
+    private String owner;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime heartbeatAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreatedDate
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime updatedAt;
+
+    public enum JobType {
+        STUDENT_PROMOTION, ID_CARD_ISSUANCE
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    }
+}
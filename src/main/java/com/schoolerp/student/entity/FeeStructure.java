@@ -1,5 +1,6 @@
 package com.schoolerp.student.entity;
 
+import com.schoolerp.student.service.FeeStructureCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,6 +14,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(FeeStructureCacheEvictionListener.class)
 public class FeeStructure {
 
     @Id
@@ -20,15 +22,16 @@ public class FeeStructure {
     private Long id;
 
     // Instead of storing text, reference to master table (class, section)
-    @ManyToOne
+    // Lazy: labels are resolved through the CommonMaster cache, only the foreign key ids are read here
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "class_id", nullable = false)
     private CommonMaster classId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "section_id", nullable = false)
     private CommonMaster sectionId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "academic_year_id", nullable = false)
     private CommonMaster academicYear;   // e.g. "2024-25"
 
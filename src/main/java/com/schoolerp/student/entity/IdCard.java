@@ -14,7 +14,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "id_cards")
+@Table(name = "id_cards", indexes = {
+    @Index(name = "idx_id_cards_student_id", columnList = "studentId"),
+    @Index(name = "idx_id_cards_status_valid_to", columnList = "status, validTo"),
+    @Index(name = "idx_id_cards_updated_at", columnList = "updatedAt")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +27,8 @@ import java.time.LocalDateTime;
 public class IdCard {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "id_cards_seq")
+    @SequenceGenerator(name = "id_cards_seq", sequenceName = "id_cards_SEQ", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false)
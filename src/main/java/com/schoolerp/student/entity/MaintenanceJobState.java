@@ -0,0 +1,44 @@
+package com.schoolerp.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress and lease of a recurring maintenance job (e.g. document purge)
+ * The lease makes sure only one instance runs a job at a time; {@code lastProcessedId}
+ * is the keyset checkpoint a run resumes from after a crash or restart.
+ */
+@Entity
+@Table(name = "maintenance_job_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceJobState {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Builder.Default
+    private Long lastProcessedId = 0L;
+
+    @Builder.Default
+    private Long processedCount = 0L;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    private LocalDateTime lastRunStartedAt;
+
+    private LocalDateTime lastRunFinishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
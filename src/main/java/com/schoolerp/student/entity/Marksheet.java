@@ -14,7 +14,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "marksheets")
+@Table(name = "marksheets", indexes = {
+    @Index(name = "idx_marksheets_cohort", columnList = "academicYear, className, section, examType, percentage, id"),
+    @Index(name = "idx_marksheets_listing", columnList = "academicYear, className, section, examType, status"),
+    @Index(name = "idx_marksheets_exam_status", columnList = "academicYear, examType, status"),
+    @Index(name = "idx_marksheets_student_status", columnList = "studentId, status"),
+    @Index(name = "idx_marksheets_updated_at", columnList = "updatedAt")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +29,8 @@ import java.time.LocalDateTime;
 public class Marksheet {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "marksheets_seq")
+    @SequenceGenerator(name = "marksheets_seq", sequenceName = "marksheets_SEQ", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false)
@@ -39,7 +46,7 @@ public class Marksheet {
     
     @Column(length = 1000)
     private String subjects;
-    
+
     private Integer totalMarks;
     
     @Builder.Default
@@ -0,0 +1,28 @@
+package com.schoolerp.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per rank cohort, row-locked for the duration of any transaction that changes the cohort's ranks
+ * so incremental re-ranks and full recomputes of the same cohort run one at a time
+ */
+@Entity
+@Table(name = "marksheet_cohort_locks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksheetCohortLock {
+
+    @Id
+    @Column(length = 200)
+    private String cohortKey;
+
+    private LocalDateTime createdAt;
+}
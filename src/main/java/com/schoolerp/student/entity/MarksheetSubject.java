@@ -0,0 +1,53 @@
+package com.schoolerp.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks of one subject on a {@link Marksheet}, one row per subject
+ * The marksheet's cohort columns (year, exam, class, section) are copied onto each row so subject
+ * analytics run as index-backed aggregates over this table alone, without joining marksheets.
+ */
+@Entity
+@Table(name = "marksheet_subjects", indexes = {
+    @Index(name = "idx_marksheet_subjects_marksheet_id", columnList = "marksheetId"),
+    @Index(name = "idx_marksheet_subjects_cohort_subject", columnList = "academicYear, examType, className, section, subjectName"),
+    @Index(name = "idx_marksheet_subjects_subject_marks", columnList = "academicYear, examType, subjectName, marksObtained")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksheetSubject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "marksheet_subjects_seq")
+    @SequenceGenerator(name = "marksheet_subjects_seq", sequenceName = "marksheet_subjects_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer marksheetId;
+
+    @Column(nullable = false)
+    private String studentId;
+
+    private String academicYear;
+
+    private String examType;
+
+    private String className;
+
+    private String section;
+
+    @Column(nullable = false, length = 100)
+    private String subjectName;
+
+    @Column(nullable = false)
+    private Integer marksObtained;
+
+    @Column(nullable = false)
+    private Integer maxMarks;
+}
@@ -0,0 +1,31 @@
+package com.schoolerp.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Named counter used to hand out business numbers (admission numbers, card numbers) in blocks
+ * {@code nextValue} is the first value not yet reserved by any instance
+ */
+@Entity
+@Table(name = "number_sequences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NumberSequence {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue;
+
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_created_at_id", columnList = "createdAt, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +26,8 @@ import java.util.Map;
 public class Student {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_SEQ", allocationSize = 50)
     private Integer id;
     
     @Column(unique = true)
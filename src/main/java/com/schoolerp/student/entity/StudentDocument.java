@@ -15,7 +15,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "student_documents")
+@Table(name = "student_documents", indexes = {
+    @Index(name = "idx_student_documents_student_id", columnList = "studentId, isDeleted"),
+    @Index(name = "idx_student_documents_content_hash", columnList = "contentHash"),
+    @Index(name = "idx_student_documents_s3_key", columnList = "s3Key")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +28,8 @@ import java.time.LocalDateTime;
 public class StudentDocument {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_documents_seq")
+    @SequenceGenerator(name = "student_documents_seq", sequenceName = "student_documents_SEQ", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false)
@@ -38,6 +43,27 @@ public class StudentDocument {
     // File key in S3
     private String s3Url;
 
+    /**
+     * SHA-256 of the content when stored content-addressed (see {@link StudentDocumentContent});
+     * null for objects stored under a per-student key
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Small JPEG preview stored beside the original (first PDF page or downscaled image)
+     */
+    private String previewKey;
+
+    private String previewUrl;
+
+    /**
+     * Null for documents uploaded before previews existed; the backfill treats them like PENDING
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private PreviewStatus previewStatus;
+
     @CreatedDate
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
     @JsonIgnore
@@ -51,4 +77,14 @@ public class StudentDocument {
     @Builder.Default
     private boolean isDeleted = false;
 
+    /**
+     * When the document was soft-deleted; the purge job removes it and its S3 objects after the retention window
+     */
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    public enum PreviewStatus {
+        PENDING, READY, UNSUPPORTED, FAILED
+    }
+
 }
\ No newline at end of file
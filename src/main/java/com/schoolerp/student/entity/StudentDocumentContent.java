@@ -0,0 +1,44 @@
+package com.schoolerp.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored document content, addressed by its SHA-256 hash
+ * Identical files uploaded for any student share one S3 object; {@code refCount} counts the
+ * {@link StudentDocument} rows pointing at it, and the object may only be removed once it drops to zero.
+ */
+@Entity
+@Table(name = "student_document_contents")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDocumentContent {
+
+    /**
+     * Lower-case hex SHA-256 of the file bytes
+     */
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String s3Key;
+
+    private Long sizeBytes;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
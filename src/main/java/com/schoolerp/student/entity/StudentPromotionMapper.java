@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class StudentPromotionMapper {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_promotion_mapper_seq")
+    @SequenceGenerator(name = "student_promotion_mapper_seq", sequenceName = "student_promotion_mapper_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -0,0 +1,81 @@
+package com.schoolerp.student.mapper;
+
+import com.schoolerp.student.dto.MarksheetRequestDto;
+import com.schoolerp.student.dto.SubjectMarkDto;
+import com.schoolerp.student.entity.Marksheet;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maps marksheet requests onto {@link Marksheet} entities, deriving totals, percentage and grade.
+ * Stateless and CPU-only, so bulk imports call it from parallel streams.
+ */
+@Component
+public class MarksheetMapper {
+
+    private final MarksheetSubjectMapper marksheetSubjectMapper;
+
+    public MarksheetMapper(MarksheetSubjectMapper marksheetSubjectMapper) {
+        this.marksheetSubjectMapper = marksheetSubjectMapper;
+    }
+
+    /**
+     * Copies the request onto the marksheet, deriving totals, percentage and grade where the client left them out.
+     * The rank is never taken from the request; it is computed by the rank engine.
+     *
+     * @return The validated subject marks, or null if the request has none
+     */
+    public List<SubjectMarkDto> applyRequest(Marksheet marksheet, MarksheetRequestDto requestDto) {
+        // Totals follow from the structured subject marks unless the client sent them
+        List<SubjectMarkDto> subjectMarks = requestDto.getSubjectMarks();
+        boolean hasSubjectMarks = subjectMarks != null && !subjectMarks.isEmpty();
+        if (hasSubjectMarks) {
+            marksheetSubjectMapper.validate(subjectMarks);
+            if (requestDto.getTotalMarks() == null || requestDto.getTotalMarks() == 0) {
+                requestDto.setTotalMarks(marksheetSubjectMapper.totalMarks(subjectMarks));
+                requestDto.setMaxTotalMarks(marksheetSubjectMapper.maxTotalMarks(subjectMarks));
+            }
+        }
+
+        // Calculate percentage if totalMarks and maxTotalMarks are provided
+        Double percentage = requestDto.getPercentage();
+        if ((percentage == null || percentage == 0.0) && 
+            requestDto.getTotalMarks() != null && requestDto.getMaxTotalMarks() != null && 
+            requestDto.getMaxTotalMarks() > 0) {
+            percentage = (requestDto.getTotalMarks().doubleValue() / requestDto.getMaxTotalMarks()) * 100;
+        }
+        
+        // Calculate grade based on percentage
+        String grade = requestDto.getGrade();
+        if (grade == null || grade.isEmpty()) {
+            grade = calculateGrade(percentage != null ? percentage : 0.0);
+        }
+        
+        marksheet.setStudentId(requestDto.getStudentId());
+        marksheet.setExamType(requestDto.getExamType());
+        marksheet.setAcademicYear(requestDto.getAcademicYear());
+        marksheet.setClassName(requestDto.getClassName());
+        marksheet.setSection(requestDto.getSection());
+        marksheet.setSubjects(requestDto.getSubjects());
+        marksheet.setTotalMarks(requestDto.getTotalMarks());
+        marksheet.setMaxTotalMarks(requestDto.getMaxTotalMarks());
+        marksheet.setPercentage(percentage);
+        marksheet.setGrade(grade);
+        marksheet.setResult(requestDto.getResult());
+        marksheet.setStatus(Marksheet.MarksheetStatus.valueOf(requestDto.getStatus().toUpperCase()));
+        marksheet.setPublishDate(requestDto.getPublishDate());
+        return hasSubjectMarks ? subjectMarks : null;
+    }
+
+    public String calculateGrade(Double percentage) {
+        if (percentage >= 90) return "A+";
+        else if (percentage >= 80) return "A";
+        else if (percentage >= 70) return "B+";
+        else if (percentage >= 60) return "B";
+        else if (percentage >= 50) return "C+";
+        else if (percentage >= 40) return "C";
+        else if (percentage >= 33) return "D";
+        else return "F";
+    }
+}
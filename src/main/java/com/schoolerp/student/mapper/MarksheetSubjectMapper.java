@@ -0,0 +1,114 @@
+package com.schoolerp.student.mapper;
+
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.MarksheetResponseDto;
+import com.schoolerp.student.dto.SubjectMarkDto;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetSubject;
+import com.schoolerp.student.exception.CustomException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Converts between the structured subject marks of a marksheet request and {@link MarksheetSubject} rows
+ */
+@Component
+public class MarksheetSubjectMapper {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Checks that every subject appears once and no mark exceeds its maximum
+     *
+     * @throws CustomException on a duplicate subject or marks above the maximum
+     */
+    public void validate(List<SubjectMarkDto> subjectMarks) {
+        Set<String> seen = new HashSet<>();
+        for (SubjectMarkDto mark : subjectMarks) {
+            if (!seen.add(normalizeSubject(mark.getSubject()))) {
+                throw new CustomException("Duplicate subject: " + mark.getSubject(), ServiceConstants.ERROR_CODE, "DUPLICATE_SUBJECT");
+            }
+            if (mark.getMarksObtained() > maxMarks(mark)) {
+                throw new CustomException(ServiceConstants.MAX_MARKS_EXCEEDED + " for subject " + mark.getSubject(),
+                        ServiceConstants.ERROR_CODE, "MAX_MARKS_EXCEEDED");
+            }
+        }
+    }
+
+    public int totalMarks(List<SubjectMarkDto> subjectMarks) {
+        return subjectMarks.stream().mapToInt(SubjectMarkDto::getMarksObtained).sum();
+    }
+
+    public int maxTotalMarks(List<SubjectMarkDto> subjectMarks) {
+        return subjectMarks.stream().mapToInt(MarksheetSubjectMapper::maxMarks).sum();
+    }
+
+    /**
+     * Subject rows for a saved marksheet, carrying its cohort columns
+     */
+    public List<MarksheetSubject> toRows(Marksheet marksheet, List<SubjectMarkDto> subjectMarks) {
+        return subjectMarks.stream()
+                .map(mark -> MarksheetSubject.builder()
+                        .marksheetId(marksheet.getId())
+                        .studentId(marksheet.getStudentId())
+                        .academicYear(marksheet.getAcademicYear())
+                        .examType(marksheet.getExamType())
+                        .className(marksheet.getClassName())
+                        .section(marksheet.getSection())
+                        .subjectName(normalizeSubject(mark.getSubject()))
+                        .marksObtained(mark.getMarksObtained())
+                        .maxMarks(maxMarks(mark))
+                        .build())
+                .toList();
+    }
+
+    public List<SubjectMarkDto> toDtos(List<MarksheetSubject> rows) {
+        return rows.stream()
+                .map(row -> new SubjectMarkDto(row.getSubjectName(), row.getMarksObtained(), row.getMaxMarks()))
+                .toList();
+    }
+
+    /**
+     * Pairs each marksheet with its subject marks from the given rows (as loaded for all of them at once)
+     */
+    public List<MarksheetResponseDto> toResponses(List<Marksheet> marksheets, List<MarksheetSubject> rows) {
+        Map<Integer, List<MarksheetSubject>> byMarksheet = rows.stream()
+                .collect(Collectors.groupingBy(MarksheetSubject::getMarksheetId));
+        return marksheets.stream()
+                .map(marksheet -> {
+                    List<MarksheetSubject> subjectRows = byMarksheet.get(marksheet.getId());
+                    return new MarksheetResponseDto(marksheet, subjectRows != null ? toDtos(subjectRows) : null);
+                })
+                .toList();
+    }
+
+    /**
+     * Canonical spelling of a subject name: trimmed, single-spaced and title-cased, so "maths" and
+     * " MATHS" are stored, grouped and looked up as "Maths"
+     */
+    public String normalizeSubject(String subject) {
+        String[] words = WHITESPACE.split(subject.trim());
+        StringBuilder name = new StringBuilder(subject.length());
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (name.length() > 0) {
+                name.append(' ');
+            }
+            name.append(word.substring(0, 1).toUpperCase(Locale.ROOT)).append(word.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return name.toString();
+    }
+
+    private static int maxMarks(SubjectMarkDto mark) {
+        return mark.getMaxMarks() != null ? mark.getMaxMarks() : 100;
+    }
+}
@@ -5,11 +5,18 @@ import com.schoolerp.student.dto.StudentRequestDto;
 import com.schoolerp.student.dto.StudentResponseDto;
 import com.schoolerp.student.entity.FeeStructure;
 import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.service.CommonMasterCache;
 import org.springframework.stereotype.Component;
 
 @Component
 public class StudentMapper {
 
+    private final CommonMasterCache commonMasterCache;
+
+    public StudentMapper(CommonMasterCache commonMasterCache) {
+        this.commonMasterCache = commonMasterCache;
+    }
+
     public Student toEntity(StudentRequestDto dto) {
         if (dto == null) return null;
         Student student = new Student();
@@ -155,7 +162,11 @@ public class StudentMapper {
     }
 
 
-    public static FeeStructureResponse toFeeStructureResponse(FeeStructure feeStructure) {
+    /**
+     * Maps a fee structure, resolving class/section/year/frequency labels through the CommonMaster cache
+     * Only the foreign key ids of the lazy master associations are read, so no master rows are loaded here
+     */
+    public FeeStructureResponse toFeeStructureResponse(FeeStructure feeStructure) {
         if (feeStructure == null) return null;
 
         FeeStructureResponse response = new FeeStructureResponse();
@@ -164,26 +175,30 @@ public class StudentMapper {
 
         // Class
         if (feeStructure.getClassId() != null) {
-            response.setClassId((long) feeStructure.getClassId().getId());
-            response.setClassName(feeStructure.getClassId().getData());
+            Integer classId = feeStructure.getClassId().getId();
+            response.setClassId((long) classId);
+            response.setClassName(commonMasterCache.labelOf(classId));
         }
 
         // Section
         if (feeStructure.getSectionId() != null) {
-            response.setSectionId((long) feeStructure.getSectionId().getId());
-            response.setSectionName(feeStructure.getSectionId().getData());
+            Integer sectionId = feeStructure.getSectionId().getId();
+            response.setSectionId((long) sectionId);
+            response.setSectionName(commonMasterCache.labelOf(sectionId));
         }
 
         // Academic Year
         if (feeStructure.getAcademicYear() != null) {
-            response.setAcademicYearId((long) feeStructure.getAcademicYear().getId());
-            response.setAcademicYearName(feeStructure.getAcademicYear().getData());
+            Integer academicYearId = feeStructure.getAcademicYear().getId();
+            response.setAcademicYearId((long) academicYearId);
+            response.setAcademicYearName(commonMasterCache.labelOf(academicYearId));
         }
 
         // Payment Frequency
         if (feeStructure.getPaymentFrequency() != null) {
-            response.setPaymentFrequencyId((long) feeStructure.getPaymentFrequency().getId());
-            response.setPaymentFrequencyName(feeStructure.getPaymentFrequency().getData());
+            Integer paymentFrequencyId = feeStructure.getPaymentFrequency().getId();
+            response.setPaymentFrequencyId((long) paymentFrequencyId);
+            response.setPaymentFrequencyName(commonMasterCache.labelOf(paymentFrequencyId));
         }
 
         // Fee amounts
@@ -0,0 +1,75 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.entity.BatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchJobRepository extends JpaRepository<BatchJob, String> {
+
+    /**
+     * Atomically takes (or renews) the lease on a job; succeeds only if this instance already owns it
+     * or the previous owner's heartbeat is older than {@code staleBefore}
+     *
+     * @return 1 if the lease was acquired, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BatchJob j SET j.owner = :owner, j.heartbeatAt = :now, " +
+           "j.status = com.schoolerp.student.entity.BatchJob.JobStatus.RUNNING " +
+           "WHERE j.id = :id AND j.status IN (com.schoolerp.student.entity.BatchJob.JobStatus.QUEUED, " +
+           "com.schoolerp.student.entity.BatchJob.JobStatus.RUNNING) AND " +
+           "(j.owner = :owner OR j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") String id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BatchJob j SET j.completedChunks = j.completedChunks + 1, " +
+           "j.processedItems = j.processedItems + :processed, j.failedItems = j.failedItems + :failed, " +
+           "j.skippedItems = j.skippedItems + :skipped, j.processingMillis = j.processingMillis + :elapsedMillis, " +
+           "j.heartbeatAt = :now, j.lastError = COALESCE(:error, j.lastError) " +
+           "WHERE j.id = :id AND j.owner = :owner")
+    int checkpoint(@Param("id") String id,
+                   @Param("owner") String owner,
+                   @Param("processed") int processed,
+                   @Param("failed") int failed,
+                   @Param("skipped") int skipped,
+                   @Param("elapsedMillis") long elapsedMillis,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Records a chunk that rolled back without advancing {@code completedChunks}, so a resumed job retries it;
+     * {@code failedItems} holds the size of that chunk rather than a running total, since it is retried as a whole
+     *
+     * @return 1 if this instance still owns the job, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BatchJob j SET j.failedItems = :failed, j.processingMillis = j.processingMillis + :elapsedMillis, " +
+           "j.heartbeatAt = :now, j.lastError = :error " +
+           "WHERE j.id = :id AND j.owner = :owner")
+    int recordFailedChunk(@Param("id") String id,
+                          @Param("owner") String owner,
+                          @Param("failed") int failed,
+                          @Param("elapsedMillis") long elapsedMillis,
+                          @Param("error") String error,
+                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM BatchJob j WHERE j.jobType = :jobType AND j.status IN :statuses AND " +
+           "(j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    List<String> findStaleJobIds(@Param("jobType") BatchJob.JobType jobType,
+                                 @Param("statuses") Collection<BatchJob.JobStatus> statuses,
+                                 @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -1,9 +1,19 @@
 package com.schoolerp.student.repository;
 
+import com.schoolerp.student.dto.IdCardStatusRow;
+import com.schoolerp.student.dto.IdCardSummaryRow;
 import com.schoolerp.student.entity.IdCard;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +25,65 @@ public interface IdCardRepository extends JpaRepository<IdCard, Integer> {
     Optional<IdCard> findByCardNumber(String cardNumber);
     
     List<IdCard> findByStatus(IdCard.CardStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT c.cardNumber FROM IdCard c WHERE c.cardNumber LIKE CONCAT(:prefix, '%')")
+    List<String> findCardNumbersStartingWith(@Param("prefix") String prefix);
+
+    /**
+     * Students among {@code studentIds} that already hold an active card still valid on {@code date}
+     */
+    @Query("SELECT DISTINCT c.studentId FROM IdCard c WHERE c.studentId IN :studentIds AND " +
+           "c.status = com.schoolerp.student.entity.IdCard.CardStatus.ACTIVE AND (c.validTo IS NULL OR c.validTo >= :date)")
+    List<String> findStudentIdsWithCardValidOn(@Param("studentIds") Collection<String> studentIds,
+                                               @Param("date") LocalDate date);
+
+    /**
+     * Filtered page of ID cards, newest first, seeking past {@code cursorId} instead of using OFFSET.
+     * Backed by idx_id_cards_student_id and idx_id_cards_status_valid_to.
+     */
+    @Query("SELECT new com.schoolerp.student.dto.IdCardSummaryRow(c.id, c.studentId, c.cardNumber, c.status, " +
+           "c.issueDate, c.validFrom, c.validTo, c.photoUrl) FROM IdCard c WHERE " +
+           "(:studentId IS NULL OR c.studentId = :studentId) AND " +
+           "(:status IS NULL OR c.status = :status) AND " +
+           "(:validToFrom IS NULL OR c.validTo >= :validToFrom) AND " +
+           "(:validToUntil IS NULL OR c.validTo <= :validToUntil) AND " +
+           "(:cursorId IS NULL OR c.id < :cursorId) " +
+           "ORDER BY c.id DESC")
+    List<IdCardSummaryRow> findSummariesAfterCursor(
+            @Param("studentId") String studentId,
+            @Param("status") IdCard.CardStatus status,
+            @Param("validToFrom") LocalDate validToFrom,
+            @Param("validToUntil") LocalDate validToUntil,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable);
+
+    @Query("SELECT new com.schoolerp.student.dto.IdCardStatusRow(c.id, c.cardNumber, c.studentId, c.status, c.validFrom, " +
+           "c.validTo, c.updatedAt) FROM IdCard c WHERE c.id > :afterId AND (c.validTo IS NULL OR c.validTo >= :validOn) " +
+           "ORDER BY c.id")
+    List<IdCardStatusRow> findStatusRowsAfterId(@Param("afterId") Integer afterId,
+                                                @Param("validOn") LocalDate validOn,
+                                                Pageable pageable);
+
+    @Query("SELECT new com.schoolerp.student.dto.IdCardStatusRow(c.id, c.cardNumber, c.studentId, c.status, c.validFrom, " +
+           "c.validTo, c.updatedAt) FROM IdCard c WHERE c.updatedAt >= :since")
+    List<IdCardStatusRow> findStatusRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Active cards whose validity ended before {@code today}, in id order; served by idx_id_cards_status_valid_to
+     */
+    @Query("SELECT c.id FROM IdCard c WHERE c.status = com.schoolerp.student.entity.IdCard.CardStatus.ACTIVE " +
+           "AND c.validTo < :today ORDER BY c.id")
+    List<Integer> findExpiredActiveIds(@Param("today") LocalDate today, Pageable pageable);
+
+    /**
+     * Marks the given cards EXPIRED in one statement; re-checks the predicate so cards renewed meanwhile are left alone.
+     * Bumps updatedAt so the card status index picks the change up.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdCard c SET c.status = com.schoolerp.student.entity.IdCard.CardStatus.EXPIRED, c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND c.status = com.schoolerp.student.entity.IdCard.CardStatus.ACTIVE AND c.validTo < :today")
+    int expireByIdIn(@Param("ids") Collection<Integer> ids,
+                     @Param("today") LocalDate today,
+                     @Param("now") LocalDateTime now);
+}
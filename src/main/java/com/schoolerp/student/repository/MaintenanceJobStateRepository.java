@@ -0,0 +1,56 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.entity.MaintenanceJobState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface MaintenanceJobStateRepository extends JpaRepository<MaintenanceJobState, String> {
+
+    /**
+     * Takes the lease if it is free, expired or already held by this owner
+     *
+     * @return 1 if the lease was acquired, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MaintenanceJobState m SET m.leaseOwner = :owner, m.leaseExpiresAt = :leaseUntil, m.lastRunStartedAt = :now " +
+           "WHERE m.jobName = :jobName AND (m.leaseOwner IS NULL OR m.leaseOwner = :owner OR m.leaseExpiresAt < :now)")
+    int acquire(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records progress and extends the lease; joins the caller's transaction so the checkpoint
+     * commits together with the work it describes
+     *
+     * @return 0 if the lease was lost to another instance
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MaintenanceJobState m SET m.lastProcessedId = :lastProcessedId, " +
+           "m.processedCount = m.processedCount + :processed, m.leaseExpiresAt = :leaseUntil " +
+           "WHERE m.jobName = :jobName AND m.leaseOwner = :owner")
+    int checkpoint(@Param("jobName") String jobName,
+                   @Param("owner") String owner,
+                   @Param("lastProcessedId") Long lastProcessedId,
+                   @Param("processed") long processed,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MaintenanceJobState m SET m.leaseOwner = NULL, m.leaseExpiresAt = NULL, " +
+           "m.lastRunFinishedAt = :now, m.lastError = :error " +
+           "WHERE m.jobName = :jobName AND m.leaseOwner = :owner")
+    int release(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("error") String error);
+}
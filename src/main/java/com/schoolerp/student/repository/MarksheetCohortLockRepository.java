@@ -0,0 +1,22 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.entity.MarksheetCohortLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MarksheetCohortLockRepository extends JpaRepository<MarksheetCohortLock, String> {
+
+    /**
+     * Reads the cohort's lock row with a row lock (SELECT ... FOR UPDATE) held until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM MarksheetCohortLock l WHERE l.cohortKey = :cohortKey")
+    Optional<MarksheetCohortLock> findForUpdate(@Param("cohortKey") String cohortKey);
+}
@@ -0,0 +1,24 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.dto.MarksheetSummaryRow;
+import com.schoolerp.student.entity.Marksheet;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Marksheet listing query built from the filters actually supplied, mixed into {@link MarksheetRepository}
+ */
+public interface MarksheetListingRepository {
+
+    /**
+     * Filtered page of marksheets, newest first, seeking past {@code cursorId} instead of using OFFSET.
+     * Null filters are left out of the WHERE clause, so MySQL can pick the index matching the filters given:
+     * idx_marksheets_listing for a class listing, idx_marksheets_exam_status for an exam-wide one. With the
+     * class and status given, InnoDB's implicit id suffix on idx_marksheets_listing already yields id order and
+     * the page is read without a sort. idx_marksheets_cohort is ordered by percentage and serves the rank engine only.
+     */
+    List<MarksheetSummaryRow> findSummariesAfterCursor(String academicYear, String className, String section,
+                                                       String examType, Marksheet.MarksheetStatus status,
+                                                       Integer cursorId, Pageable pageable);
+}
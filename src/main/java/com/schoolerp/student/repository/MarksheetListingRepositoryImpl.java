@@ -0,0 +1,62 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.dto.MarksheetSummaryRow;
+import com.schoolerp.student.entity.Marksheet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MarksheetListingRepositoryImpl implements MarksheetListingRepository {
+
+    private final EntityManager entityManager;
+
+    public MarksheetListingRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<MarksheetSummaryRow> findSummariesAfterCursor(String academicYear, String className, String section,
+                                                              String examType, Marksheet.MarksheetStatus status,
+                                                              Integer cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MarksheetSummaryRow> query = cb.createQuery(MarksheetSummaryRow.class);
+        Root<Marksheet> m = query.from(Marksheet.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (academicYear != null) {
+            predicates.add(cb.equal(m.get("academicYear"), academicYear));
+        }
+        if (className != null) {
+            predicates.add(cb.equal(m.get("className"), className));
+        }
+        if (section != null) {
+            predicates.add(cb.equal(m.get("section"), section));
+        }
+        if (examType != null) {
+            predicates.add(cb.equal(m.get("examType"), examType));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(m.get("status"), status));
+        }
+        if (cursorId != null) {
+            predicates.add(cb.lessThan(m.get("id"), cursorId));
+        }
+
+        query.select(cb.construct(MarksheetSummaryRow.class,
+                        m.get("id"), m.get("studentId"), m.get("examType"), m.get("academicYear"), m.get("className"),
+                        m.get("section"), m.get("totalMarks"), m.get("maxTotalMarks"), m.get("percentage"), m.get("grade"),
+                        m.get("rank"), m.get("result"), m.get("status"), m.get("publishDate")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(m.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -1,13 +1,23 @@
 package com.schoolerp.student.repository;
 
+import com.schoolerp.student.dto.MarksheetScoreRow;
+import com.schoolerp.student.dto.MarksheetSubjectsRow;
+import com.schoolerp.student.dto.StudentMarksheetChangeRow;
 import com.schoolerp.student.entity.Marksheet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface MarksheetRepository extends JpaRepository<Marksheet, Integer> {
+public interface MarksheetRepository extends JpaRepository<Marksheet, Integer>, MarksheetListingRepository {
     
     List<Marksheet> findByStudentId(String studentId);
     
@@ -16,4 +26,111 @@ public interface MarksheetRepository extends JpaRepository<Marksheet, Integer> {
     List<Marksheet> findByStatus(Marksheet.MarksheetStatus status);
     
     List<Marksheet> findByClassNameAndAcademicYear(String className, String academicYear);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.schoolerp.student.dto.MarksheetSubjectsRow(m.id, m.subjects) FROM Marksheet m WHERE m.id IN :ids")
+    List<MarksheetSubjectsRow> findSubjectsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    List<Marksheet> findByStudentIdInAndStatusOrderById(Collection<String> studentIds, Marksheet.MarksheetStatus status);
+
+    /**
+     * Students with DRAFT marksheets in the exam cohort, i.e. the students a publish is about to affect
+     */
+    @Query("SELECT DISTINCT m.studentId FROM Marksheet m " +
+           "WHERE m.academicYear = :academicYear AND m.examType = :examType " +
+           "AND (:className IS NULL OR m.className = :className) AND (:section IS NULL OR m.section = :section) " +
+           "AND m.status = com.schoolerp.student.entity.Marksheet.MarksheetStatus.DRAFT")
+    List<String> findDraftStudentIds(@Param("academicYear") String academicYear,
+                                     @Param("examType") String examType,
+                                     @Param("className") String className,
+                                     @Param("section") String section);
+
+    @Query("SELECT new com.schoolerp.student.dto.StudentMarksheetChangeRow(m.studentId, MAX(m.updatedAt)) " +
+           "FROM Marksheet m WHERE m.updatedAt >= :since GROUP BY m.studentId")
+    List<StudentMarksheetChangeRow> findStudentChangesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Publishes every DRAFT marksheet of an exam in one statement; class and section narrow the cohort when given
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Marksheet m SET m.status = com.schoolerp.student.entity.Marksheet.MarksheetStatus.PUBLISHED, " +
+           "m.publishDate = :publishDate, m.updatedAt = :now " +
+           "WHERE m.academicYear = :academicYear AND m.examType = :examType " +
+           "AND (:className IS NULL OR m.className = :className) AND (:section IS NULL OR m.section = :section) " +
+           "AND m.status = com.schoolerp.student.entity.Marksheet.MarksheetStatus.DRAFT")
+    int publishDrafts(@Param("academicYear") String academicYear,
+                      @Param("examType") String examType,
+                      @Param("className") String className,
+                      @Param("section") String section,
+                      @Param("publishDate") LocalDate publishDate,
+                      @Param("now") LocalDateTime now);
+
+    // Rank cohort queries: a cohort is (academicYear, className, section, examType), where a null
+    // section or exam type only matches marksheets that have none
+
+    @Query("SELECT new com.schoolerp.student.dto.MarksheetScoreRow(m.id, m.percentage, m.rank) FROM Marksheet m " +
+           "WHERE m.academicYear = :academicYear AND m.className = :className " +
+           "AND ((:section IS NULL AND m.section IS NULL) OR m.section = :section) " +
+           "AND ((:examType IS NULL AND m.examType IS NULL) OR m.examType = :examType)")
+    List<MarksheetScoreRow> findScoresByCohort(@Param("academicYear") String academicYear,
+                                               @Param("className") String className,
+                                               @Param("section") String section,
+                                               @Param("examType") String examType);
+
+    @Query("SELECT COUNT(m) FROM Marksheet m WHERE m.academicYear = :academicYear AND m.className = :className " +
+           "AND ((:section IS NULL AND m.section IS NULL) OR m.section = :section) " +
+           "AND ((:examType IS NULL AND m.examType IS NULL) OR m.examType = :examType) " +
+           "AND m.percentage IS NOT NULL AND (m.rank IS NULL OR m.rank <= 0) AND m.id <> :excludeId")
+    long countUnrankedInCohort(@Param("academicYear") String academicYear,
+                               @Param("className") String className,
+                               @Param("section") String section,
+                               @Param("examType") String examType,
+                               @Param("excludeId") Integer excludeId);
+
+    @Query("SELECT COUNT(m) FROM Marksheet m WHERE m.academicYear = :academicYear AND m.className = :className " +
+           "AND ((:section IS NULL AND m.section IS NULL) OR m.section = :section) " +
+           "AND ((:examType IS NULL AND m.examType IS NULL) OR m.examType = :examType) " +
+           "AND m.percentage = :percentage AND m.id <> :excludeId")
+    long countWithPercentageInCohort(@Param("academicYear") String academicYear,
+                                     @Param("className") String className,
+                                     @Param("section") String section,
+                                     @Param("examType") String examType,
+                                     @Param("percentage") Double percentage,
+                                     @Param("excludeId") Integer excludeId);
+
+    @Query("SELECT COUNT(DISTINCT m.percentage) FROM Marksheet m WHERE m.academicYear = :academicYear AND m.className = :className " +
+           "AND ((:section IS NULL AND m.section IS NULL) OR m.section = :section) " +
+           "AND ((:examType IS NULL AND m.examType IS NULL) OR m.examType = :examType) " +
+           "AND m.percentage > :percentage AND m.id <> :excludeId")
+    long countDistinctPercentagesAbove(@Param("academicYear") String academicYear,
+                                       @Param("className") String className,
+                                       @Param("section") String section,
+                                       @Param("examType") String examType,
+                                       @Param("percentage") Double percentage,
+                                       @Param("excludeId") Integer excludeId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Marksheet m SET m.rank = m.rank + :delta, m.updatedAt = :now WHERE m.academicYear = :academicYear AND m.className = :className " +
+           "AND ((:section IS NULL AND m.section IS NULL) OR m.section = :section) " +
+           "AND ((:examType IS NULL AND m.examType IS NULL) OR m.examType = :examType) " +
+           "AND m.percentage < :percentage AND m.rank > 0 AND m.id <> :excludeId")
+    int shiftRanksBelow(@Param("academicYear") String academicYear,
+                        @Param("className") String className,
+                        @Param("section") String section,
+                        @Param("examType") String examType,
+                        @Param("percentage") Double percentage,
+                        @Param("excludeId") Integer excludeId,
+                        @Param("delta") int delta,
+                        @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Marksheet m SET m.rank = :rank, m.updatedAt = :now WHERE m.id = :id")
+    int updateRank(@Param("id") Integer id, @Param("rank") Integer rank, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Marksheet m SET m.rank = NULL, m.updatedAt = :now WHERE m.id IN :ids")
+    int clearRanksByIdIn(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now);
+}
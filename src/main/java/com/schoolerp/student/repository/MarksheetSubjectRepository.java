@@ -0,0 +1,58 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.dto.SubjectStatsRow;
+import com.schoolerp.student.dto.SubjectTopperRow;
+import com.schoolerp.student.entity.MarksheetSubject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MarksheetSubjectRepository extends JpaRepository<MarksheetSubject, Long> {
+
+    List<MarksheetSubject> findByMarksheetIdInOrderById(Collection<Integer> marksheetIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MarksheetSubject s WHERE s.marksheetId = :marksheetId")
+    int deleteByMarksheetId(@Param("marksheetId") Integer marksheetId);
+
+    /**
+     * Count, average, min, max and average percentage of every subject in the cohort, as one GROUP BY
+     */
+    @Query("SELECT new com.schoolerp.student.dto.SubjectStatsRow(s.subjectName, COUNT(s), AVG(s.marksObtained), " +
+           "MIN(s.marksObtained), MAX(s.marksObtained), AVG(s.marksObtained * 100.0 / s.maxMarks)) " +
+           "FROM MarksheetSubject s WHERE s.academicYear = :academicYear AND " +
+           "(:examType IS NULL OR s.examType = :examType) AND " +
+           "(:className IS NULL OR s.className = :className) AND " +
+           "(:section IS NULL OR s.section = :section) " +
+           "GROUP BY s.subjectName ORDER BY s.subjectName")
+    List<SubjectStatsRow> findSubjectStats(@Param("academicYear") String academicYear,
+                                           @Param("examType") String examType,
+                                           @Param("className") String className,
+                                           @Param("section") String section);
+
+    /**
+     * Highest marks in one subject of the cohort; the limit comes from the pageable
+     */
+    @Query("SELECT new com.schoolerp.student.dto.SubjectTopperRow(s.studentId, s.marksheetId, s.className, s.section, " +
+           "s.marksObtained, s.maxMarks) FROM MarksheetSubject s WHERE s.academicYear = :academicYear AND " +
+           "s.subjectName = :subject AND " +
+           "(:examType IS NULL OR s.examType = :examType) AND " +
+           "(:className IS NULL OR s.className = :className) AND " +
+           "(:section IS NULL OR s.section = :section) " +
+           "ORDER BY s.marksObtained DESC, s.marksheetId")
+    List<SubjectTopperRow> findSubjectToppers(@Param("academicYear") String academicYear,
+                                              @Param("subject") String subject,
+                                              @Param("examType") String examType,
+                                              @Param("className") String className,
+                                              @Param("section") String section,
+                                              Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.entity.NumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NumberSequenceRepository extends JpaRepository<NumberSequence, String> {
+
+    /**
+     * Reads the sequence row with a row lock (SELECT ... FOR UPDATE) held until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM NumberSequence n WHERE n.name = :name")
+    Optional<NumberSequence> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,23 @@
+package com.schoolerp.student.repository;
+
+import com.schoolerp.student.entity.StudentDocumentContent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentDocumentContentRepository extends JpaRepository<StudentDocumentContent, String> {
+
+    /**
+     * Locks the content rows (SELECT ... FOR UPDATE) so reference counts are changed one transaction at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM StudentDocumentContent c WHERE c.contentHash IN :hashes")
+    List<StudentDocumentContent> findAllForUpdate(@Param("hashes") Collection<String> hashes);
+}
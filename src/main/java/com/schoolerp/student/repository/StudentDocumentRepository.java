@@ -1,9 +1,16 @@
 package com.schoolerp.student.repository;
 
 import com.schoolerp.student.entity.StudentDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +20,63 @@ public interface StudentDocumentRepository extends JpaRepository<StudentDocument
     List<StudentDocument> findByStudentIdAndIsDeletedFalse(Integer id);
 
     StudentDocument findByIdAndIsDeletedFalse(Integer documentId);
-}
\ No newline at end of file
+
+    Optional<StudentDocument> findFirstByS3KeyAndIsDeletedFalse(String s3Key);
+
+    Optional<StudentDocument> findFirstByS3KeyAndPreviewStatus(String s3Key, StudentDocument.PreviewStatus previewStatus);
+
+    /**
+     * Documents still waiting for a preview, in id order after {@code afterId}
+     */
+    @Query("SELECT d.id FROM StudentDocument d WHERE d.isDeleted = false AND d.id > :afterId AND " +
+           "(d.previewStatus IS NULL OR d.previewStatus = com.schoolerp.student.entity.StudentDocument.PreviewStatus.PENDING) " +
+           "ORDER BY d.id")
+    List<Integer> findPreviewBacklog(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Applies a preview outcome to every document stored under the same object (content-addressed duplicates)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StudentDocument d SET d.previewKey = :previewKey, d.previewUrl = :previewUrl, d.previewStatus = :status " +
+           "WHERE d.s3Key = :s3Key")
+    int updatePreviewByS3Key(@Param("s3Key") String s3Key, @Param("previewKey") String previewKey,
+                             @Param("previewUrl") String previewUrl, @Param("status") StudentDocument.PreviewStatus status);
+
+    /**
+     * Soft-deletes the given documents in one statement
+     *
+     * @return number of documents that were not deleted yet
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StudentDocument d SET d.isDeleted = true, d.deletedAt = :now, d.updatedAt = :now " +
+           "WHERE d.id IN :ids AND d.isDeleted = false")
+    int softDeleteByIdIn(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Soft-deletes every document of the student in one statement
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StudentDocument d SET d.isDeleted = true, d.deletedAt = :now, d.updatedAt = :now " +
+           "WHERE d.studentId = :studentId AND d.isDeleted = false")
+    int softDeleteByStudentId(@Param("studentId") Integer studentId, @Param("now") LocalDateTime now);
+
+    /**
+     * Soft-deleted documents past the retention cutoff, in id order after {@code afterId}.
+     * Rows deleted before {@code deletedAt} existed fall back to their last update time.
+     */
+    @Query("SELECT d FROM StudentDocument d WHERE d.isDeleted = true AND d.id > :afterId " +
+           "AND COALESCE(d.deletedAt, d.updatedAt, d.createdAt) < :cutoff ORDER BY d.id")
+    List<StudentDocument> findPurgeCandidates(@Param("afterId") Integer afterId,
+                                              @Param("cutoff") LocalDateTime cutoff,
+                                              Pageable pageable);
+
+    /**
+     * Keys among {@code s3Keys} still referenced by a document outside {@code excludedIds}
+     */
+    @Query("SELECT DISTINCT d.s3Key FROM StudentDocument d WHERE d.s3Key IN :s3Keys AND d.id NOT IN :excludedIds")
+    List<String> findS3KeysReferencedOutside(@Param("s3Keys") Collection<String> s3Keys,
+                                             @Param("excludedIds") Collection<Integer> excludedIds);
+}
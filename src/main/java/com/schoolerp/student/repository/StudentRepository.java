@@ -1,15 +1,26 @@
 package com.schoolerp.student.repository;
 
+import com.schoolerp.student.dto.StudentPlacementRow;
+import com.schoolerp.student.dto.StudentSearchRow;
 import com.schoolerp.student.entity.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer> {
@@ -17,8 +28,35 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
     
     boolean existsByAdmissionNo(String admissionNo);
 
+    /**
+     * Which of the given admission numbers are already taken (deleted students included, as the column is unique)
+     */
+    @Query("SELECT s.admissionNo FROM Student s WHERE s.admissionNo IN :admissionNos")
+    List<String> findExistingAdmissionNos(@Param("admissionNos") Collection<String> admissionNos);
+
+    @Query("SELECT s.admissionNo FROM Student s WHERE s.admissionNo LIKE CONCAT(:prefix, '%')")
+    List<String> findAdmissionNosStartingWith(@Param("prefix") String prefix);
+
     Optional<Student> findByIdAndIsDeletedFalse(Integer id);
 
+    /**
+     * Row-locks the given students in id order, so concurrent callers locking overlapping sets cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+    List<Integer> lockIdsForUpdate(@Param("ids") Collection<Integer> ids);
+
+    boolean existsByIdAndIsDeletedFalse(Integer id);
+
+    /**
+     * Student profile in one round trip: one row per active document (document columns are null
+     * when the student has none), the student entity repeated on every row
+     */
+    @Query("SELECT s, d.id, d.documentType, d.documentName, d.s3Url, d.previewUrl FROM Student s " +
+           "LEFT JOIN StudentDocument d ON d.studentId = s.id AND d.isDeleted = false " +
+           "WHERE s.id = :id AND s.isDeleted = false ORDER BY d.id")
+    List<Object[]> findProfileRows(@Param("id") Integer id);
+
     @Query("SELECT s FROM Student s WHERE " +
            "(:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -32,6 +70,24 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
             @Param("classApplyingFor") Integer classApplyingFor,
             Pageable pageable);
     
+    @Query("SELECT s FROM Student s WHERE " +
+           "(:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(s.admissionNo) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "(:classApplyingFor IS NULL OR s.classApplyingFor = :classApplyingFor) AND " +
+           "(:cursorCreatedAt IS NULL OR s.createdAt < :cursorCreatedAt OR " +
+           "(s.createdAt = :cursorCreatedAt AND s.id < :cursorId)) AND " +
+           "s.isDeleted = false " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<Student> findStudentsAfterCursor(
+            @Param("search") String search,
+            @Param("status") Integer status,
+            @Param("classApplyingFor") Integer classApplyingFor,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable);
+
     @Query("SELECT COUNT(s) FROM Student s WHERE " +
            "(:search IS NULL OR LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -41,7 +97,7 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
            "s.isDeleted = false")
     long countStudentsWithFilters(
             @Param("search") String search,
-            @Param("status") String status,
+            @Param("status") Integer status,
             @Param("classApplyingFor") Integer classApplyingFor);
     
     @Query("SELECT s FROM Student s WHERE s.classApplyingFor = :fromClass AND s.section = :fromSection AND s.isDeleted = false")
@@ -51,4 +107,44 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
 
     List<Student> findAllByIdInAndIsDeletedFalse(List<Integer> ids);
 
-}
\ No newline at end of file
+    @Query("SELECT new com.schoolerp.student.dto.StudentPlacementRow(s.id, s.classApplyingFor, s.section) " +
+           "FROM Student s WHERE s.id IN :ids AND s.isDeleted = false")
+    List<StudentPlacementRow> findPlacementsByIdIn(@Param("ids") List<Integer> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.classApplyingFor = :toClass, s.section = :toSection, " +
+           "s.academicYear = :academicYear, s.status = :status, s.updatedAt = :updatedAt " +
+           "WHERE s.id IN :ids AND s.isDeleted = false")
+    int updatePlacement(
+            @Param("ids") List<Integer> ids,
+            @Param("toClass") Integer toClass,
+            @Param("toSection") Integer toSection,
+            @Param("academicYear") Integer academicYear,
+            @Param("status") Integer status,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT new com.schoolerp.student.dto.StudentSearchRow(s.id, s.firstName, s.lastName, s.admissionNo, " +
+           "s.status, s.classApplyingFor, s.createdAt, s.updatedAt, s.isDeleted) " +
+           "FROM Student s WHERE s.isDeleted = false AND s.id > :afterId ORDER BY s.id")
+    List<StudentSearchRow> findSearchRowsAfterId(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT new com.schoolerp.student.dto.StudentSearchRow(s.id, s.firstName, s.lastName, s.admissionNo, " +
+           "s.status, s.classApplyingFor, s.createdAt, s.updatedAt, s.isDeleted) " +
+           "FROM Student s WHERE s.updatedAt >= :since ORDER BY s.updatedAt")
+    List<StudentSearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+
+    /**
+     * Forward-only cursor over active students for exports; must be consumed inside a transaction and closed.
+     * A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of reading
+     * the whole result into memory; the connection runs no other statement until the stream is closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s WHERE s.isDeleted = false AND " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "(:classFilter IS NULL OR s.classApplyingFor = :classFilter) ORDER BY s.id")
+    Stream<Student> streamForExport(@Param("status") Integer status, @Param("classFilter") Integer classFilter);
+}
@@ -0,0 +1,277 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.InstanceIdentity;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.entity.BatchJob;
+import com.schoolerp.student.exception.CustomException;
+import com.schoolerp.student.exception.ResourceNotFoundException;
+import com.schoolerp.student.repository.BatchJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs {@link BatchJob}s on the background job executor under a database lease
+ * Job services register a handler per job type; the runner claims the lease, hands the job to the handler,
+ * records chunk checkpoints and failures, sets the final status and resumes jobs whose owner stopped heart-beating.
+ * A chunk that fails stops the job on that chunk, so resuming it retries exactly the chunk that failed.
+ */
+@Component
+@Slf4j
+public class BatchJobRunner {
+
+    /**
+     * Processes a claimed job chunk by chunk from {@code job.getCompletedChunks()}, reporting each chunk through
+     * {@link #checkpoint} and a rolled-back one through {@link #stopAtFailedChunk}
+     */
+    @FunctionalInterface
+    public interface JobHandler {
+        void execute(BatchJob job) throws Exception;
+    }
+
+    private record Registration(String label, JobHandler handler) {
+    }
+
+    private final BatchJobRepository batchJobRepository;
+    private final ThreadPoolTaskExecutor batchJobExecutor;
+    private final String instanceId = InstanceIdentity.getInstanceId();
+    private final Map<BatchJob.JobType, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * Jobs currently executing on this instance, guards against running the same job twice locally
+     */
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.jobs.lease-timeout-seconds:300}")
+    private long leaseTimeoutSeconds;
+
+    public BatchJobRunner(BatchJobRepository batchJobRepository,
+                          @Qualifier("batchJobExecutor") ThreadPoolTaskExecutor batchJobExecutor) {
+        this.batchJobRepository = batchJobRepository;
+        this.batchJobExecutor = batchJobExecutor;
+    }
+
+    /**
+     * Registers the handler that runs jobs of the given type
+     *
+     * @param label Human readable job name used in log lines and error messages, e.g. "Promotion"
+     */
+    public void register(BatchJob.JobType jobType, String label, JobHandler handler) {
+        registrations.put(jobType, new Registration(label, handler));
+    }
+
+    /**
+     * Saves a new job leased to this instance and queues it on the executor
+     */
+    public BatchJob submit(BatchJob job) {
+        job.setOwner(instanceId);
+        job.setHeartbeatAt(LocalDateTime.now());
+        BatchJob savedJob = batchJobRepository.save(job);
+        dispatch(savedJob.getId());
+        return savedJob;
+    }
+
+    /**
+     * Re-queues a failed or interrupted job from its last checkpoint; a completed job is returned unchanged
+     *
+     * @throws ResourceNotFoundException if no job of this type exists
+     * @throws CustomException if another instance (or this one) is still running the job
+     */
+    public BatchJob resume(String jobId, BatchJob.JobType jobType) {
+        BatchJob job = findJob(jobId, jobType);
+        if (job.getStatus() == BatchJob.JobStatus.COMPLETED) {
+            return job;
+        }
+        if (activeJobs.contains(jobId) || isLeaseHeldElsewhere(job)) {
+            throw new CustomException(label(jobType) + " job " + jobId + " is already running", ServiceConstants.ERROR_CODE, "JOB_ALREADY_RUNNING");
+        }
+
+        job.setStatus(BatchJob.JobStatus.QUEUED);
+        job.setOwner(instanceId);
+        job.setHeartbeatAt(LocalDateTime.now());
+        job.setFinishedAt(null);
+        // The chunk that stopped the job is retried as a whole
+        job.setFailedItems(0);
+        BatchJob savedJob = batchJobRepository.save(job);
+
+        dispatch(jobId);
+        return savedJob;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if no job with this id and type exists
+     */
+    public BatchJob findJob(String jobId, BatchJob.JobType jobType) {
+        return batchJobRepository.findById(jobId)
+            .filter(job -> job.getJobType() == jobType)
+            .orElseThrow(() -> new ResourceNotFoundException(label(jobType) + " job not found with id: " + jobId));
+    }
+
+    /**
+     * Advances the job past a processed chunk and renews the lease, inside the chunk's transaction if there is one
+     *
+     * @throws LeaseLostException if another instance has taken over the job
+     */
+    public void checkpoint(String jobId, int processed, int skipped, long elapsedMillis) {
+        if (batchJobRepository.checkpoint(jobId, instanceId, processed, 0, skipped, elapsedMillis, null, LocalDateTime.now()) == 0) {
+            throw new LeaseLostException(jobId);
+        }
+    }
+
+    /**
+     * Records a rolled-back chunk without advancing the checkpoint and stops the job there; always throws
+     *
+     * @throws LeaseLostException if another instance has taken over the job
+     * @throws ChunkFailedException otherwise, ending the run with the job FAILED on this chunk
+     */
+    public void stopAtFailedChunk(String jobId, int chunkIndex, int failed, long elapsedMillis, String error) {
+        if (batchJobRepository.recordFailedChunk(jobId, instanceId, failed, elapsedMillis, truncate(error), LocalDateTime.now()) == 0) {
+            throw new LeaseLostException(jobId);
+        }
+        throw new ChunkFailedException(chunkIndex, error);
+    }
+
+    /**
+     * Picks up jobs whose owner stopped heart-beating (instance crash, restart or executor rejection)
+     * and resumes them from their last checkpoint
+     */
+    @Scheduled(initialDelayString = "${app.jobs.recovery-initial-delay-ms:30000}",
+               fixedDelayString = "${app.jobs.recovery-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        for (BatchJob.JobType jobType : registrations.keySet()) {
+            try {
+                List<String> staleJobIds = batchJobRepository.findStaleJobIds(
+                    jobType,
+                    EnumSet.of(BatchJob.JobStatus.QUEUED, BatchJob.JobStatus.RUNNING),
+                    LocalDateTime.now().minusSeconds(leaseTimeoutSeconds));
+                for (String jobId : staleJobIds) {
+                    log.info("Recovering stale {} job {}", label(jobType), jobId);
+                    dispatch(jobId);
+                }
+            } catch (Exception e) {
+                log.warn("{} job recovery sweep failed, will retry: {}", label(jobType), e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(String jobId) {
+        try {
+            batchJobExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            log.warn("Job executor is saturated; job {} stays queued until the recovery sweep picks it up", jobId);
+        }
+    }
+
+    private void run(String jobId) {
+        if (!activeJobs.add(jobId)) {
+            return;
+        }
+        String label = "Batch";
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (batchJobRepository.claim(jobId, instanceId, now, now.minusSeconds(leaseTimeoutSeconds)) == 0) {
+                log.info("Job {} is owned by another instance or already finished; skipping", jobId);
+                return;
+            }
+            BatchJob job = batchJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with id: " + jobId));
+            Registration registration = registrations.get(job.getJobType());
+            if (registration == null) {
+                throw new IllegalStateException("No handler registered for job type " + job.getJobType());
+            }
+            label = registration.label();
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+                job = batchJobRepository.save(job);
+            }
+
+            log.info("Running {} job {} from chunk {}/{}", label, jobId, job.getCompletedChunks(), job.getTotalChunks());
+            registration.handler().execute(job);
+
+            BatchJob finishedJob = findJob(jobId, job.getJobType());
+            finishedJob.setStatus(finishedJob.getFailedItems() > 0
+                ? BatchJob.JobStatus.COMPLETED_WITH_ERRORS
+                : BatchJob.JobStatus.COMPLETED);
+            finishedJob.setFinishedAt(LocalDateTime.now());
+            batchJobRepository.save(finishedJob);
+            log.info("{} job {} finished: {} processed, {} failed, {} skipped",
+                     label, jobId, finishedJob.getProcessedItems(), finishedJob.getFailedItems(), finishedJob.getSkippedItems());
+        } catch (LeaseLostException e) {
+            log.warn("{} job {} was taken over by another instance; stopping here", label, jobId);
+        } catch (ChunkFailedException e) {
+            log.warn("{} job {} stopped at chunk {}; resume the job to retry it", label, jobId, e.getChunkIndex() + 1);
+            markFailed(jobId, null);
+        } catch (Exception e) {
+            log.error("{} job {} failed: {}", label, jobId, e.getMessage(), e);
+            markFailed(jobId, truncate(e.getMessage()));
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private void markFailed(String jobId, String error) {
+        batchJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(BatchJob.JobStatus.FAILED);
+            if (error != null) {
+                job.setLastError(error);
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            batchJobRepository.save(job);
+        });
+    }
+
+    private boolean isLeaseHeldElsewhere(BatchJob job) {
+        return job.getStatus() == BatchJob.JobStatus.RUNNING
+            && !instanceId.equals(job.getOwner())
+            && job.getHeartbeatAt() != null
+            && job.getHeartbeatAt().isAfter(LocalDateTime.now().minusSeconds(leaseTimeoutSeconds));
+    }
+
+    private String label(BatchJob.JobType jobType) {
+        Registration registration = registrations.get(jobType);
+        return registration != null ? registration.label() : "Batch";
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Raised from a checkpoint when another instance has taken over the job; handlers let it propagate
+     */
+    public static class LeaseLostException extends RuntimeException {
+        LeaseLostException(String jobId) {
+            super("Lease lost for job " + jobId);
+        }
+    }
+
+    /**
+     * Raised by {@link #stopAtFailedChunk} to end the run with the job parked on the failed chunk
+     */
+    public static class ChunkFailedException extends RuntimeException {
+        private final int chunkIndex;
+
+        ChunkFailedException(int chunkIndex, String error) {
+            super(error);
+            this.chunkIndex = chunkIndex;
+        }
+
+        int getChunkIndex() {
+            return chunkIndex;
+        }
+    }
+}
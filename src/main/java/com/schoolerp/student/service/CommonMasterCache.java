@@ -0,0 +1,93 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LocalCache;
+import com.schoolerp.student.dto.CacheStatsDto;
+import com.schoolerp.student.entity.CommonMaster;
+import com.schoolerp.student.repository.CommonMasterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache for CommonMaster master data (statuses, classes, sections, academic years...)
+ * Entries are looked up by (commonMasterKey, data) for active rows and by id for code→label resolution.
+ * Master data rarely changes, so entries live for a configurable TTL and can be dropped on demand via {@link #refresh()}.
+ * Callers always receive a copy, so a cached row can never be modified or attached to a persistence context.
+ */
+@Component
+@Slf4j
+public class CommonMasterCache {
+
+    private record MasterKey(String commonMasterKey, String data) {
+    }
+
+    private final CommonMasterRepository commonMasterRepository;
+    private final LocalCache<MasterKey, Optional<CommonMaster>> byKeyAndData;
+    private final LocalCache<Integer, Optional<CommonMaster>> byId;
+
+    public CommonMasterCache(CommonMasterRepository commonMasterRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cache.common-master.maximum-size:5000}") int maximumSize,
+                             @Value("${app.cache.common-master.ttl-seconds:3600}") long ttlSeconds) {
+        this.commonMasterRepository = commonMasterRepository;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byKeyAndData = new LocalCache<MasterKey, Optional<CommonMaster>>("common-master.by-key", maximumSize, ttl)
+            .bindTo(meterRegistry);
+        this.byId = new LocalCache<Integer, Optional<CommonMaster>>("common-master.by-id", maximumSize, ttl)
+            .bindTo(meterRegistry);
+    }
+
+    /**
+     * Active master row for the given key and value, e.g. ("STATUS", "ALUMNI")
+     */
+    public Optional<CommonMaster> findActive(String commonMasterKey, String data) {
+        return byKeyAndData.get(new MasterKey(commonMasterKey, data), key -> {
+            Optional<CommonMaster> loaded = commonMasterRepository
+                .findByCommonMasterKeyAndDataAndAndStatus(key.commonMasterKey(), key.data(), true)
+                .map(CommonMasterCache::copyOf);
+            loaded.ifPresent(master -> byId.put(master.getId(), Optional.of(master)));
+            return loaded;
+        }).map(CommonMasterCache::copyOf);
+    }
+
+    /**
+     * Master row by id, regardless of its active flag
+     */
+    public Optional<CommonMaster> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return byId.get(id, key -> commonMasterRepository.findById(key).map(CommonMasterCache::copyOf))
+            .map(CommonMasterCache::copyOf);
+    }
+
+    /**
+     * Display label (the {@code data} column) for a master id, or null if unknown
+     */
+    public String labelOf(Integer id) {
+        return findById(id).map(CommonMaster::getData).orElse(null);
+    }
+
+    /**
+     * Drops every cached entry so the next lookups reload from the database
+     */
+    public List<CacheStatsDto> refresh() {
+        byKeyAndData.invalidateAll();
+        byId.invalidateAll();
+        log.info("CommonMaster cache refreshed");
+        return stats();
+    }
+
+    public List<CacheStatsDto> stats() {
+        return List.of(byKeyAndData.stats(), byId.stats());
+    }
+
+    private static CommonMaster copyOf(CommonMaster master) {
+        return new CommonMaster(master.getId(), master.getCommonMasterKey(), master.getData(), master.getStatus());
+    }
+}
@@ -0,0 +1,15 @@
+package com.schoolerp.student.service;
+
+import java.util.Collection;
+
+/**
+ * Asynchronous post-upload stage that renders small previews of student documents
+ */
+public interface DocumentPreviewService {
+
+    /**
+     * Queues preview generation for committed documents; never blocks the caller.
+     * Documents that do not fit in the queue stay PENDING and are picked up by the backfill.
+     */
+    void enqueue(Collection<Integer> documentIds);
+}
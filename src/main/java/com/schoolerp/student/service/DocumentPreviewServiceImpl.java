@@ -0,0 +1,283 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.entity.StudentDocument;
+import com.schoolerp.student.repository.StudentDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a JPEG preview (first PDF page or downscaled image) next to each stored document
+ * Work is fed through a bounded executor queue; a scheduled backfill re-queues documents that were
+ * rejected while the queue was full, or uploaded before previews existed. Content-addressed duplicates
+ * share one object, so a preview is rendered once per object and applied to every document using it.
+ */
+@Service
+@Slf4j
+public class DocumentPreviewServiceImpl implements DocumentPreviewService {
+
+    private static final String PREVIEW_SUFFIX = ".preview.jpg";
+
+    private final StudentDocumentRepository repository;
+    private final S3Service s3Service;
+    private final ThreadPoolTaskExecutor documentPreviewExecutor;
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.documents.preview.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.documents.preview.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${app.documents.preview.max-source-bytes:26214400}")
+    private long maxSourceBytes;
+
+    /**
+     * Largest image (width x height) decoded for a preview; a small compressed file can declare a huge canvas
+     */
+    @Value("${app.documents.preview.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    @Value("${app.documents.preview.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    private volatile int backfillAfterId;
+
+    public DocumentPreviewServiceImpl(StudentDocumentRepository repository, S3Service s3Service,
+                                      @Qualifier("documentPreviewExecutor") ThreadPoolTaskExecutor documentPreviewExecutor) {
+        this.repository = repository;
+        this.s3Service = s3Service;
+        this.documentPreviewExecutor = documentPreviewExecutor;
+    }
+
+    @Override
+    public void enqueue(Collection<Integer> documentIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Integer documentId : documentIds) {
+            if (!inFlight.add(documentId)) {
+                continue;
+            }
+            try {
+                documentPreviewExecutor.execute(() -> {
+                    try {
+                        generate(documentId);
+                    } finally {
+                        inFlight.remove(documentId);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                inFlight.remove(documentId);
+                log.debug("logId: {} - Preview queue full, document {} left for backfill", LogContext.getLogId(), documentId);
+            }
+        }
+    }
+
+    /**
+     * Tops up the queue with documents still waiting for a preview, without ever overflowing it
+     */
+    @Scheduled(fixedDelayString = "${app.documents.preview.backfill-interval-ms:60000}")
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        int free = documentPreviewExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            List<Integer> backlog = repository.findPreviewBacklog(backfillAfterId, PageRequest.of(0, Math.min(free, backfillBatchSize)));
+            if (backlog.isEmpty()) {
+                backfillAfterId = 0;
+                return;
+            }
+            backfillAfterId = backlog.get(backlog.size() - 1);
+            enqueue(backlog);
+            log.debug("Preview backfill queued {} documents", backlog.size());
+        } catch (Exception e) {
+            log.warn("Preview backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void generate(Integer documentId) {
+        StudentDocument doc = repository.findById(documentId).orElse(null);
+        if (doc == null || doc.isDeleted()
+                || (doc.getPreviewStatus() != null && doc.getPreviewStatus() != StudentDocument.PreviewStatus.PENDING)) {
+            return;
+        }
+        String s3Key = doc.getS3Key();
+        if (s3Key == null) {
+            doc.setPreviewStatus(StudentDocument.PreviewStatus.UNSUPPORTED);
+            repository.save(doc);
+            return;
+        }
+
+        // Another document with the same content may already have one
+        Optional<StudentDocument> rendered = repository.findFirstByS3KeyAndPreviewStatus(s3Key, StudentDocument.PreviewStatus.READY);
+        if (rendered.isPresent()) {
+            repository.updatePreviewByS3Key(s3Key, rendered.get().getPreviewKey(), rendered.get().getPreviewUrl(),
+                                            StudentDocument.PreviewStatus.READY);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            Optional<HeadObjectResponse> head = s3Service.headObject(s3Key);
+            if (head.isEmpty()) {
+                repository.updatePreviewByS3Key(s3Key, null, null, StudentDocument.PreviewStatus.FAILED);
+                return;
+            }
+            String kind = kindOf(head.get().contentType(), doc.getDocumentName());
+            Long size = head.get().contentLength();
+            if (kind == null || (size != null && size > maxSourceBytes)) {
+                repository.updatePreviewByS3Key(s3Key, null, null, StudentDocument.PreviewStatus.UNSUPPORTED);
+                return;
+            }
+
+            BufferedImage preview;
+            try (ResponseInputStream<GetObjectResponse> content = s3Service.openObject(s3Key, null, null)) {
+                preview = "pdf".equals(kind) ? renderFirstPage(content) : renderImage(content, s3Key);
+            }
+            if (preview == null) {
+                repository.updatePreviewByS3Key(s3Key, null, null, StudentDocument.PreviewStatus.UNSUPPORTED);
+                return;
+            }
+
+            byte[] jpeg = toJpeg(preview);
+            String previewKey = s3Key + PREVIEW_SUFFIX;
+            s3Service.putObject(previewKey, "image/jpeg", new ByteArrayInputStream(jpeg), jpeg.length);
+            int updated = repository.updatePreviewByS3Key(s3Key, previewKey, s3Service.objectUrl(previewKey),
+                                                          StudentDocument.PreviewStatus.READY);
+            log.info("Preview for {} ({} bytes) rendered in {} ms, applied to {} documents",
+                     s3Key, jpeg.length, System.currentTimeMillis() - start, updated);
+        } catch (Exception e) {
+            log.warn("Preview generation failed for document {} ({}): {}", documentId, s3Key, e.getMessage());
+            repository.updatePreviewByS3Key(s3Key, null, null, StudentDocument.PreviewStatus.FAILED);
+        }
+    }
+
+    /**
+     * @return "pdf", "image" or null when no preview can be rendered
+     */
+    private static String kindOf(String contentType, String fileName) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (type.equals("application/pdf") || name.endsWith(".pdf")) {
+            return "pdf";
+        }
+        if (type.startsWith("image/") || name.matches(".*\\.(jpe?g|png|gif|bmp)$")) {
+            return "image";
+        }
+        return null;
+    }
+
+    private BufferedImage renderFirstPage(InputStream content) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(new RandomAccessReadBuffer(content))) {
+            if (pdf.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle page = pdf.getPage(0).getCropBox();
+            float longestSide = Math.max(page.getWidth(), page.getHeight());
+            float scale = Math.min(1f, maxDimension / longestSide);
+            return downscale(new PDFRenderer(pdf).renderImage(0, scale, ImageType.RGB));
+        }
+    }
+
+    /**
+     * Reads the image dimensions from its header before decoding anything, rejects images over the pixel budget
+     * and decodes only every n-th pixel, so the decoded raster stays close to the preview size
+     *
+     * @return null when no reader supports the format or the image is over the budget
+     */
+    private BufferedImage renderImage(InputStream content, String s3Key) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    log.info("Skipping preview for {}: {}x{} exceeds {} pixels", s3Key, width, height, maxSourcePixels);
+                    return null;
+                }
+                // Keep at least maxDimension pixels on the longest side for the final smooth downscale
+                int step = Math.max(1, Math.max(width, height) / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return downscale(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Fits the image into {@code maxDimension} pixels on its longest side, flattened onto white for JPEG
+     */
+    private BufferedImage downscale(BufferedImage source) {
+        if (source == null) {
+            return null;
+        }
+        double ratio = Math.min(1d, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,15 @@
+package com.schoolerp.student.service;
+
+/**
+ * Removes soft-deleted student documents and their S3 objects once the retention window has passed
+ */
+public interface DocumentPurgeService {
+
+    /**
+     * Purges expired documents batch by batch, resuming from the last checkpoint.
+     * Does nothing if another instance currently holds the purge lease.
+     *
+     * @return number of document rows removed by this run
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,218 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.entity.MaintenanceJobState;
+import com.schoolerp.student.entity.StudentDocument;
+import com.schoolerp.student.entity.StudentDocumentContent;
+import com.schoolerp.student.repository.StudentDocumentContentRepository;
+import com.schoolerp.student.repository.StudentDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduled purge of soft-deleted documents
+ * Each batch runs in one transaction: content rows are locked and their reference counts released,
+ * and the document rows are hard-deleted. The objects no longer referenced (originals and previews)
+ * are removed with S3 DeleteObjects only after that commit: an object left behind by a failed delete
+ * is merely an orphan, whereas deleting first could leave rows pointing at objects that are gone.
+ * Content objects are never rewritten under a released key, so a late delete cannot hit a new upload.
+ * Progress is checkpointed in {@link MaintenanceJobState} together with each batch, and a lease keeps
+ * the job on one instance at a time.
+ */
+@Service
+@Slf4j
+public class DocumentPurgeServiceImpl implements DocumentPurgeService {
+
+    static final String JOB_NAME = "document-purge";
+
+    private final StudentDocumentRepository repository;
+    private final StudentDocumentContentRepository contentRepository;
+    private final S3Service s3Service;
+    private final MaintenanceLease maintenanceLease;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.documents.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.documents.purge.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${app.documents.purge.batch-size:500}")
+    private int batchSize;
+
+    public DocumentPurgeServiceImpl(StudentDocumentRepository repository,
+                                    StudentDocumentContentRepository contentRepository,
+                                    S3Service s3Service,
+                                    MaintenanceLease maintenanceLease,
+                                    PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.contentRepository = contentRepository;
+        this.s3Service = s3Service;
+        this.maintenanceLease = maintenanceLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.documents.purge.initial-delay-ms:120000}",
+               fixedDelayString = "${app.documents.purge.interval-ms:3600000}")
+    public void purgeScheduled() {
+        if (enabled) {
+            purgeExpired();
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        MaintenanceJobState state = maintenanceLease.acquire(JOB_NAME);
+        if (state == null) {
+            log.debug("Document purge lease held by another instance, skipping");
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int afterId = state.getLastProcessedId().intValue();
+        int purged = 0;
+        String error = null;
+        try {
+            while (true) {
+                int from = afterId;
+                BatchResult batch = transactionTemplate.execute(tx -> purgeBatch(from, cutoff));
+                if (batch == null || batch.lastId() == null) {
+                    // End of the backlog; the next run starts again from the beginning
+                    maintenanceLease.checkpoint(JOB_NAME, 0, 0);
+                    break;
+                }
+                afterId = batch.lastId();
+                purged += batch.documents();
+                int objects = deleteObjects(batch.keys());
+                log.debug("Document purge batch removed {} documents and {} objects, up to id {}",
+                          batch.documents(), objects, afterId);
+            }
+            if (purged > 0) {
+                log.info("Document purge removed {} documents older than {} days in {} ms",
+                         purged, retentionDays, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.error("Document purge stopped after id {} ({} documents removed), will resume: {}",
+                      afterId, purged, e.getMessage(), e);
+        } finally {
+            maintenanceLease.release(JOB_NAME, error);
+        }
+        return purged;
+    }
+
+    private record BatchResult(Integer lastId, int documents, Set<String> keys) {
+    }
+
+    private BatchResult purgeBatch(int afterId, LocalDateTime cutoff) {
+        List<StudentDocument> documents = repository.findPurgeCandidates(afterId, cutoff, PageRequest.of(0, batchSize));
+        if (documents.isEmpty()) {
+            return new BatchResult(null, 0, Set.of());
+        }
+        Integer lastId = documents.get(documents.size() - 1).getId();
+        if (!maintenanceLease.checkpoint(JOB_NAME, lastId, documents.size())) {
+            throw new IllegalStateException("Document purge lease lost to another instance");
+        }
+
+        Set<String> keys = new HashSet<>();
+        releaseContentReferences(documents, keys);
+        collectUnsharedKeys(documents, keys);
+
+        repository.deleteAllByIdInBatch(documents.stream().map(StudentDocument::getId).toList());
+        repository.flush();
+        return new BatchResult(lastId, documents.size(), keys);
+    }
+
+    /**
+     * Removes the objects of a committed batch; a failure only leaves orphans behind, so it is logged and the purge goes on
+     */
+    private int deleteObjects(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        try {
+            int deleted = s3Service.deleteObjects(keys);
+            if (deleted < keys.size()) {
+                log.warn("Document purge deleted {} of {} S3 objects; the rest are orphaned: {}", deleted, keys.size(), keys);
+            }
+            return deleted;
+        } catch (Exception e) {
+            log.error("Document purge could not delete S3 objects, they are orphaned: {}: {}", keys, e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Drops the references of content-addressed documents; content no document references any more
+     * loses its row, and its object and preview are queued for deletion
+     */
+    private void releaseContentReferences(List<StudentDocument> documents, Set<String> keys) {
+        Map<String, List<StudentDocument>> byHash = documents.stream()
+                .filter(doc -> doc.getContentHash() != null)
+                .collect(Collectors.groupingBy(StudentDocument::getContentHash));
+        if (byHash.isEmpty()) {
+            return;
+        }
+        Map<String, StudentDocumentContent> rows = contentRepository.findAllForUpdate(byHash.keySet()).stream()
+                .collect(Collectors.toMap(StudentDocumentContent::getContentHash, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentDocumentContent> released = new ArrayList<>();
+        List<StudentDocumentContent> changed = new ArrayList<>();
+        byHash.forEach((hash, docs) -> {
+            StudentDocumentContent row = rows.get(hash);
+            if (row == null) {
+                return;
+            }
+            row.setRefCount(row.getRefCount() - docs.size());
+            if (row.getRefCount() > 0) {
+                row.setUpdatedAt(now);
+                changed.add(row);
+                return;
+            }
+            released.add(row);
+            keys.add(row.getS3Key());
+            docs.stream().map(StudentDocument::getPreviewKey).filter(Objects::nonNull).forEach(keys::add);
+        });
+        contentRepository.saveAll(changed);
+        contentRepository.deleteAllInBatch(released);
+    }
+
+    /**
+     * Queues the objects of per-student uploads, unless another document row still points at the same key
+     */
+    private void collectUnsharedKeys(List<StudentDocument> documents, Set<String> keys) {
+        List<StudentDocument> unshared = documents.stream()
+                .filter(doc -> doc.getContentHash() == null && doc.getS3Key() != null)
+                .toList();
+        if (unshared.isEmpty()) {
+            return;
+        }
+        Set<String> stillReferenced = new HashSet<>(repository.findS3KeysReferencedOutside(
+                unshared.stream().map(StudentDocument::getS3Key).collect(Collectors.toSet()),
+                documents.stream().map(StudentDocument::getId).toList()));
+        for (StudentDocument doc : unshared) {
+            if (!stillReferenced.contains(doc.getS3Key())) {
+                keys.add(doc.getS3Key());
+                if (doc.getPreviewKey() != null) {
+                    keys.add(doc.getPreviewKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LocalCache;
+import com.schoolerp.student.dto.CacheStatsDto;
+import com.schoolerp.student.dto.FeeStructureResponse;
+import com.schoolerp.student.mapper.StudentMapper;
+import com.schoolerp.student.repository.FeeStructureRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache of mapped fee structures keyed by (classId, academicYearId)
+ * Every student of a class shares one fee structure, so the profile page reuses the mapped response
+ * instead of re-reading the fee structure for each student. Absent fee structures are cached as well.
+ * Cached responses are shared between callers and must be treated as read-only.
+ */
+@Component
+@Slf4j
+public class FeeStructureCache {
+
+    private record FeeKey(Integer classId, Integer academicYearId) {
+    }
+
+    private final FeeStructureRepository feeStructureRepository;
+    private final StudentMapper studentMapper;
+    private final LocalCache<FeeKey, Optional<FeeStructureResponse>> cache;
+
+    public FeeStructureCache(FeeStructureRepository feeStructureRepository,
+                             StudentMapper studentMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cache.fee-structure.maximum-size:2000}") int maximumSize,
+                             @Value("${app.cache.fee-structure.ttl-seconds:600}") long ttlSeconds) {
+        this.feeStructureRepository = feeStructureRepository;
+        this.studentMapper = studentMapper;
+        this.cache = new LocalCache<FeeKey, Optional<FeeStructureResponse>>("fee-structure", maximumSize, Duration.ofSeconds(ttlSeconds))
+            .bindTo(meterRegistry);
+    }
+
+    /**
+     * Active fee structure for a class in an academic year
+     */
+    public Optional<FeeStructureResponse> find(Integer classId, Integer academicYearId) {
+        if (classId == null || academicYearId == null) {
+            return Optional.empty();
+        }
+        return cache.get(new FeeKey(classId, academicYearId), key ->
+            feeStructureRepository.findByClassId_IdAndAcademicYear_IdAndIsDeletedFalse(key.classId(), key.academicYearId())
+                .map(studentMapper::toFeeStructureResponse));
+    }
+
+    /**
+     * Drops all cached fee structures; a change can move a fee structure between keys,
+     * and fee structures change rarely enough that a full reload is cheap
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+        log.debug("Fee structure cache evicted");
+    }
+
+    public CacheStatsDto stats() {
+        return cache.stats();
+    }
+}
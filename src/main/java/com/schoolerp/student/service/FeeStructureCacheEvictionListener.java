@@ -0,0 +1,40 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.entity.FeeStructure;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that evicts cached fee structures once a change to a fee structure commits
+ * Changes made outside this service are picked up when the cache TTL expires or on an explicit refresh
+ */
+@Component
+public class FeeStructureCacheEvictionListener {
+
+    private final FeeStructureCache feeStructureCache;
+
+    public FeeStructureCacheEvictionListener(@Lazy FeeStructureCache feeStructureCache) {
+        this.feeStructureCache = feeStructureCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(FeeStructure feeStructure) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    feeStructureCache.evictAll();
+                }
+            });
+        } else {
+            feeStructureCache.evictAll();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.entity.MaintenanceJobState;
+import com.schoolerp.student.repository.IdCardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves ACTIVE cards past their {@code validTo} to EXPIRED
+ * Works in chunks of ids read from the (status, validTo) index, each expired with one UPDATE in its own
+ * short transaction, instead of loading every active card. A maintenance lease keeps the sweep on one
+ * instance at a time; the expired count and sweep duration are published as metrics.
+ */
+@Component
+@Slf4j
+public class IdCardExpirySweeper {
+
+    static final String JOB_NAME = "id-card-expiry";
+
+    private final IdCardRepository idCardRepository;
+    private final MaintenanceLease maintenanceLease;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    @Value("${app.id-cards.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.id-cards.expiry.chunk-size:1000}")
+    private int chunkSize;
+
+    public IdCardExpirySweeper(IdCardRepository idCardRepository, MaintenanceLease maintenanceLease,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.idCardRepository = idCardRepository;
+        this.maintenanceLease = maintenanceLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredCounter = Counter.builder("id_cards.expired")
+            .description("ID cards moved from ACTIVE to EXPIRED by the expiry sweeper")
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("id_cards.expiry.sweep")
+            .description("Duration of ID card expiry sweeps that held the lease")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.id-cards.expiry.initial-delay-ms:60000}",
+               fixedDelayString = "${app.id-cards.expiry.interval-ms:3600000}")
+    public void sweepScheduled() {
+        if (enabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * Expires every overdue active card, chunk by chunk
+     *
+     * @return number of cards expired, 0 if another instance holds the lease
+     */
+    public int sweep() {
+        MaintenanceJobState state = maintenanceLease.acquire(JOB_NAME);
+        if (state == null) {
+            log.debug("ID card expiry lease held by another instance, skipping");
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        int expired = 0;
+        String error = null;
+        try {
+            while (true) {
+                Integer chunkExpired = transactionTemplate.execute(tx -> expireChunk(today));
+                if (chunkExpired == null || chunkExpired < 0) {
+                    break;
+                }
+                expired += chunkExpired;
+                expiredCounter.increment(chunkExpired);
+            }
+            if (expired > 0) {
+                log.info("ID card expiry sweep expired {} cards in {} ms", expired, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.error("ID card expiry sweep stopped after {} cards, will retry: {}", expired, e.getMessage(), e);
+        } finally {
+            sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            maintenanceLease.release(JOB_NAME, error);
+        }
+        return expired;
+    }
+
+    /**
+     * @return cards expired in this chunk, or -1 when nothing is left to expire
+     */
+    private int expireChunk(LocalDate today) {
+        List<Integer> ids = idCardRepository.findExpiredActiveIds(today, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return -1;
+        }
+        int updated = idCardRepository.expireByIdIn(ids, today, LocalDateTime.now());
+        if (!maintenanceLease.checkpoint(JOB_NAME, ids.get(ids.size() - 1), updated)) {
+            throw new IllegalStateException("ID card expiry lease lost to another instance");
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,38 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.BatchJobStatusDto;
+import com.schoolerp.student.dto.IssueIdCardsRequestDto;
+
+/**
+ * Interface for asynchronous bulk ID card issuance
+ * Cards for a whole class/section are issued on the background job executor in checkpointed chunks
+ */
+public interface IdCardIssuanceJobService {
+
+    /**
+     * Validates and queues an issuance job, returning immediately
+     *
+     * @param requestDto Class, section and academic year to issue cards for
+     * @return Initial job status including the job ID to poll
+     * @throws com.schoolerp.student.exception.CustomException if no student matches the request
+     */
+    BatchJobStatusDto submitIssuance(IssueIdCardsRequestDto requestDto);
+
+    /**
+     * Retrieves the progress of an issuance job
+     *
+     * @param jobId Job identifier returned on submission
+     * @return Current job status with issued (processed), skipped and failed counts
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the job does not exist
+     */
+    BatchJobStatusDto getJobStatus(String jobId);
+
+    /**
+     * Resumes a failed or interrupted issuance job from its last checkpoint
+     *
+     * @param jobId Job identifier returned on submission
+     * @return Job status after re-queueing
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the job does not exist
+     */
+    BatchJobStatusDto resumeIssuance(String jobId);
+}
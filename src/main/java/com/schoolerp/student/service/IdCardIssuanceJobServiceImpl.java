@@ -0,0 +1,209 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.BatchJobStatusDto;
+import com.schoolerp.student.dto.IssueIdCardsRequestDto;
+import com.schoolerp.student.entity.BatchJob;
+import com.schoolerp.student.entity.IdCard;
+import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.exception.CustomException;
+import com.schoolerp.student.repository.IdCardRepository;
+import com.schoolerp.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Issues ID cards for a whole class/section as a background {@link BatchJob}
+ * Each chunk runs in one short transaction: students that already hold a valid active card are skipped,
+ * card numbers for the rest are reserved as one block, QR payloads are signed in parallel and the cards
+ * go out as JDBC batches. The job checkpoint commits with the chunk, so a resumed job never issues twice,
+ * and the chunk's student rows are locked first, so two jobs covering the same students cannot both issue.
+ */
+@Service
+@Slf4j
+public class IdCardIssuanceJobServiceImpl implements IdCardIssuanceJobService {
+
+    private final BatchJobRunner batchJobRunner;
+    private final StudentRepository studentRepository;
+    private final IdCardRepository idCardRepository;
+    private final NumberAllocationService numberAllocationService;
+    private final IdCardQrSigner idCardQrSigner;
+    private final IdCardStatusIndex idCardStatusIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.id-cards.issuance.chunk-size:500}")
+    private int chunkSize;
+
+    public IdCardIssuanceJobServiceImpl(BatchJobRunner batchJobRunner, StudentRepository studentRepository,
+                                        IdCardRepository idCardRepository, NumberAllocationService numberAllocationService,
+                                        IdCardQrSigner idCardQrSigner, IdCardStatusIndex idCardStatusIndex,
+                                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.batchJobRunner = batchJobRunner;
+        this.studentRepository = studentRepository;
+        this.idCardRepository = idCardRepository;
+        this.numberAllocationService = numberAllocationService;
+        this.idCardQrSigner = idCardQrSigner;
+        this.idCardStatusIndex = idCardStatusIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        batchJobRunner.register(BatchJob.JobType.ID_CARD_ISSUANCE, "ID card issuance", this::execute);
+    }
+
+    @Override
+    public BatchJobStatusDto submitIssuance(IssueIdCardsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Submitting ID card issuance for class {}-{}, academic year {}",
+                 logId, requestDto.getClassId(), requestDto.getSection(), requestDto.getAcademicYear());
+
+        LocalDate validFrom = validFrom(requestDto);
+        if (!validTo(requestDto, validFrom).isAfter(validFrom)) {
+            throw new CustomException("validTo must be after validFrom", ServiceConstants.ERROR_CODE, "INVALID_CARD_VALIDITY");
+        }
+        int students = findStudentIds(requestDto).size();
+        if (students == 0) {
+            throw new CustomException("No students found for class " + requestDto.getClassId() + "-" + requestDto.getSection()
+                    + " in academic year " + requestDto.getAcademicYear(), ServiceConstants.ERROR_CODE, "NO_STUDENTS_FOUND");
+        }
+
+        BatchJob job = BatchJob.builder()
+            .id(UUID.randomUUID().toString())
+            .jobType(BatchJob.JobType.ID_CARD_ISSUANCE)
+            .payload(toJson(requestDto))
+            .totalItems(students)
+            .chunkSize(chunkSize)
+            .totalChunks((students + chunkSize - 1) / chunkSize)
+            .build();
+        BatchJob savedJob = batchJobRunner.submit(job);
+
+        log.info("logId: {} - Queued ID card issuance job {} for {} students in {} chunks",
+                 logId, savedJob.getId(), students, savedJob.getTotalChunks());
+        return BatchJobStatusDto.from(savedJob);
+    }
+
+    @Override
+    public BatchJobStatusDto getJobStatus(String jobId) {
+        return BatchJobStatusDto.from(batchJobRunner.findJob(jobId, BatchJob.JobType.ID_CARD_ISSUANCE));
+    }
+
+    @Override
+    public BatchJobStatusDto resumeIssuance(String jobId) {
+        String logId = LogContext.getLogId();
+        BatchJob job = batchJobRunner.resume(jobId, BatchJob.JobType.ID_CARD_ISSUANCE);
+        log.info("logId: {} - Resuming ID card issuance job {} from chunk {}/{}",
+                 logId, jobId, job.getCompletedChunks(), job.getTotalChunks());
+        return BatchJobStatusDto.from(job);
+    }
+
+    private void execute(BatchJob job) throws Exception {
+        IssueIdCardsRequestDto requestDto = objectMapper.readValue(job.getPayload(), IssueIdCardsRequestDto.class);
+        LocalDate validFrom = validFrom(requestDto);
+        LocalDate validTo = validTo(requestDto, validFrom);
+        List<Integer> studentIds = findStudentIds(requestDto);
+        int jobChunkSize = job.getChunkSize();
+
+        for (int from = job.getCompletedChunks() * jobChunkSize; from < studentIds.size(); from += jobChunkSize) {
+            List<Integer> chunk = studentIds.subList(from, Math.min(from + jobChunkSize, studentIds.size()));
+            long chunkStart = System.currentTimeMillis();
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    int skipped = issueChunk(chunk, requestDto, validFrom, validTo);
+                    batchJobRunner.checkpoint(job.getId(), chunk.size() - skipped, skipped, System.currentTimeMillis() - chunkStart);
+                });
+            } catch (BatchJobRunner.LeaseLostException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("ID card issuance job {} chunk at offset {} rolled back: {}", job.getId(), from, e.getMessage(), e);
+                batchJobRunner.stopAtFailedChunk(job.getId(), from / jobChunkSize, chunk.size(),
+                        System.currentTimeMillis() - chunkStart, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Issues cards to the students of one chunk that do not hold a valid active card yet
+     *
+     * @return number of students skipped because they already have one
+     */
+    private int issueChunk(List<Integer> chunk, IssueIdCardsRequestDto requestDto, LocalDate validFrom, LocalDate validTo) {
+        // Serializes with any other job issuing to these students; the holder check below then sees its committed cards
+        studentRepository.lockIdsForUpdate(chunk);
+        List<String> studentIds = chunk.stream().map(String::valueOf).toList();
+        Set<String> holders = new HashSet<>(idCardRepository.findStudentIdsWithCardValidOn(studentIds, validFrom));
+        List<String> recipients = studentIds.stream().filter(id -> !holders.contains(id)).toList();
+        if (recipients.isEmpty()) {
+            return studentIds.size();
+        }
+
+        int year = LocalDate.now().getYear();
+        long firstNumber = numberAllocationService.reserveCardNumbers(year, recipients.size());
+        LocalDate today = LocalDate.now();
+
+        // HMAC signing is CPU-bound and independent per card
+        List<IdCard> cards = IntStream.range(0, recipients.size())
+            .parallel()
+            .mapToObj(i -> {
+                String cardNumber = numberAllocationService.formatCardNumber(year, firstNumber + i);
+                return IdCard.builder()
+                    .studentId(recipients.get(i))
+                    .cardNumber(cardNumber)
+                    .issueDate(today)
+                    .validFrom(validFrom)
+                    .validTo(validTo)
+                    .status(IdCard.CardStatus.ACTIVE)
+                    .qrCode(idCardQrSigner.sign(cardNumber, recipients.get(i), validTo))
+                    .issueReason(requestDto.getIssueReason())
+                    .build();
+            })
+            .toList();
+
+        // Card ids come from the pooled sequence, so the rows go out as JDBC batches
+        idCardStatusIndex.indexAfterCommit(idCardRepository.saveAll(cards));
+        return studentIds.size() - recipients.size();
+    }
+
+    /**
+     * Students of the class/section in the requested academic year, in id order so chunks are stable across resumes
+     */
+    private List<Integer> findStudentIds(IssueIdCardsRequestDto requestDto) {
+        List<Integer> ids = new ArrayList<>();
+        studentRepository.findByClassAndSection(requestDto.getClassId(), requestDto.getSection()).stream()
+            .filter(student -> Objects.equals(student.getAcademicYear(), requestDto.getAcademicYear()))
+            .map(Student::getId)
+            .sorted(Comparator.naturalOrder())
+            .forEach(ids::add);
+        return ids;
+    }
+
+    private static LocalDate validFrom(IssueIdCardsRequestDto requestDto) {
+        return requestDto.getValidFrom() != null ? requestDto.getValidFrom() : LocalDate.now();
+    }
+
+    private static LocalDate validTo(IssueIdCardsRequestDto requestDto, LocalDate validFrom) {
+        return requestDto.getValidTo() != null ? requestDto.getValidTo() : validFrom.plusYears(1);
+    }
+
+    private String toJson(IssueIdCardsRequestDto requestDto) {
+        try {
+            return objectMapper.writeValueAsString(requestDto);
+        } catch (JsonProcessingException e) {
+            throw new CustomException("Unable to serialize ID card issuance request", ServiceConstants.ERROR_CODE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.schoolerp.student.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Builds the payload encoded in an ID card's QR code:
+ * {@code STUDENT_CARD:v1:<cardNumber>:<studentId>:<validTo yyyyMMdd>:<signature>}.
+ * The signature is a truncated HMAC-SHA256 over the preceding fields, so a scanner can check
+ * that a card was issued by this service without a database lookup.
+ */
+@Component
+public class IdCardQrSigner {
+
+    static final String PREFIX = "STUDENT_CARD";
+    static final String VERSION = "v1";
+    private static final char SEPARATOR = ':';
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+
+    /**
+     * Mac instances are not thread-safe; one per thread keeps parallel issuance lock-free
+     */
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * @throws IllegalStateException if the secret is missing or shorter than {@value #MIN_SECRET_BYTES} bytes,
+     *                               so a deployment without ID_CARD_QR_SECRET fails at startup instead of
+     *                               signing cards with a guessable key
+     */
+    public IdCardQrSigner(@Value("${app.id-cards.qr.secret:}") String secret) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.id-cards.qr.secret (ID_CARD_QR_SECRET) must be set to at least "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Fields carried by a QR payload whose signature checked out
+     */
+    public record Claims(String cardNumber, String studentId, LocalDate validTo) {
+    }
+
+    /**
+     * Signed QR payload for a card
+     */
+    public String sign(String cardNumber, String studentId, LocalDate validTo) {
+        String body = PREFIX + SEPARATOR + VERSION + SEPARATOR + cardNumber + SEPARATOR + studentId
+                + SEPARATOR + DATE_FORMAT.format(validTo);
+        return body + SEPARATOR + signature(body);
+    }
+
+    /**
+     * Checks a scanned payload's signature without any database access
+     *
+     * @return the signed fields, or empty if the payload is malformed or was not signed with this service's key
+     */
+    public Optional<Claims> verify(String payload) {
+        if (payload == null) {
+            return Optional.empty();
+        }
+        String header = PREFIX + SEPARATOR + VERSION + SEPARATOR;
+        int signatureStart = payload.lastIndexOf(SEPARATOR);
+        int validToStart = signatureStart > 0 ? payload.lastIndexOf(SEPARATOR, signatureStart - 1) : -1;
+        int studentIdStart = validToStart > 0 ? payload.lastIndexOf(SEPARATOR, validToStart - 1) : -1;
+        if (!payload.startsWith(header) || studentIdStart <= header.length()) {
+            return Optional.empty();
+        }
+
+        String body = payload.substring(0, signatureStart);
+        byte[] expected = signature(body).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = payload.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new Claims(
+                    payload.substring(header.length(), studentIdStart),
+                    payload.substring(studentIdStart + 1, validToStart),
+                    LocalDate.parse(payload.substring(validToStart + 1, signatureStart), DATE_FORMAT)));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String signature(String body) {
+        byte[] digest = mac.get().doFinal(body.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(digest, SIGNATURE_BYTES));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + ALGORITHM, e);
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.common.KeysetCursor;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.IdCardListResponseDto;
 import com.schoolerp.student.dto.IdCardRequestDto;
+import com.schoolerp.student.dto.IdCardSummaryRow;
+import com.schoolerp.student.dto.IdCardVerificationDto;
 import com.schoolerp.student.entity.IdCard;
+import com.schoolerp.student.exception.CustomException;
 import com.schoolerp.student.repository.IdCardRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -19,14 +30,145 @@ public class IdCardService implements IdCardServiceIMPL {
 
     @Autowired
     private final IdCardRepository idCardRepository;
+    @Autowired
+    private final NumberAllocationService numberAllocationService;
+    @Autowired
+    private final IdCardQrSigner idCardQrSigner;
+    @Autowired
+    private final IdCardStatusIndex idCardStatusIndex;
 
-    public IdCardService(IdCardRepository idCardRepository) {
+    public IdCardService(IdCardRepository idCardRepository, NumberAllocationService numberAllocationService,
+                         IdCardQrSigner idCardQrSigner, IdCardStatusIndex idCardStatusIndex) {
         this.idCardRepository = idCardRepository;
+        this.numberAllocationService = numberAllocationService;
+        this.idCardQrSigner = idCardQrSigner;
+        this.idCardStatusIndex = idCardStatusIndex;
     }
 
     @Override
-    public List<IdCard> getAllIdCards() {
-        return idCardRepository.findAll();
+    @Transactional(readOnly = true)
+    public IdCardListResponseDto getIdCards(String studentId, String status, LocalDate validToFrom, LocalDate validToUntil,
+                                            String cursor, Integer size) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting getIdCards with studentId: {}, status: {}, validTo: {}..{}, size: {}",
+                 logId, studentId, status, validToFrom, validToUntil, size);
+
+        int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<IdCardSummaryRow> rows = idCardRepository.findSummariesAfterCursor(
+            studentId != null && !studentId.isBlank() ? studentId : null,
+            parseStatus(status),
+            validToFrom,
+            validToUntil,
+            after != null ? after.getId() : null,
+            PageRequest.of(0, pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<IdCardSummaryRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        IdCardListResponseDto result = new IdCardListResponseDto(page, null);
+        if (hasMore) {
+            result.setNextCursor(new KeysetCursor(null, page.get(page.size() - 1).getId()).encode());
+        }
+
+        log.info("logId: {} - Retrieved {} ID cards, hasMore: {}", logId, page.size(), hasMore);
+        return result;
+    }
+
+    /**
+     * Runs without a transaction so that scans answered from memory never borrow a database connection
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public IdCardVerificationDto verifyIdCard(String qrPayload, String cardNumber) {
+        IdCardQrSigner.Claims claims = null;
+        if (qrPayload != null && !qrPayload.isBlank()) {
+            claims = idCardQrSigner.verify(qrPayload.trim()).orElse(null);
+            if (claims == null) {
+                return IdCardVerificationDto.builder().valid(false).result("INVALID_SIGNATURE").source("SIGNATURE").build();
+            }
+            cardNumber = claims.cardNumber();
+        } else if (cardNumber == null || cardNumber.isBlank()) {
+            throw new CustomException("Either qr or cardNumber is required", ServiceConstants.ERROR_CODE, "VERIFICATION_INPUT_REQUIRED");
+        } else {
+            cardNumber = cardNumber.trim();
+        }
+
+        LocalDate today = LocalDate.now();
+        if (claims != null && claims.validTo().isBefore(today)) {
+            return verification(cardNumber, claims.studentId(), null, claims.validTo(), "EXPIRED", "SIGNATURE");
+        }
+
+        if (idCardStatusIndex.isReady()) {
+            Optional<IdCardStatusIndex.Entry> indexed = idCardStatusIndex.find(cardNumber);
+            if (indexed.isPresent()) {
+                IdCardStatusIndex.Entry entry = indexed.get();
+                return evaluate(cardNumber, entry.studentId(), entry.status(), entry.validFrom(), entry.validTo(), claims, today, "INDEX");
+            }
+        }
+
+        // Not indexed: issued moments ago on another instance, past its validity, or unknown
+        Optional<IdCard> card;
+        try {
+            card = idCardRepository.findByCardNumber(cardNumber);
+        } catch (DataAccessException e) {
+            // Fail closed: a valid signature says nothing about revocation, so without a status source the card is not accepted
+            log.warn("ID card lookup failed for {}, card status unavailable: {}", cardNumber, e.getMessage());
+            return verification(cardNumber, claims != null ? claims.studentId() : null, null,
+                    claims != null ? claims.validTo() : null, "UNVERIFIED", "UNAVAILABLE");
+        }
+        if (card.isEmpty()) {
+            return verification(cardNumber, claims != null ? claims.studentId() : null, null, null, "NOT_FOUND", "DATABASE");
+        }
+        IdCard found = card.get();
+        return evaluate(cardNumber, found.getStudentId(), found.getStatus(), found.getValidFrom(), found.getValidTo(), claims, today, "DATABASE");
+    }
+
+    private static IdCardVerificationDto evaluate(String cardNumber, String studentId, IdCard.CardStatus status,
+                                                  LocalDate validFrom, LocalDate validTo, IdCardQrSigner.Claims claims,
+                                                  LocalDate today, String source) {
+        String result;
+        if (claims != null && !claims.studentId().equals(studentId)) {
+            result = "INVALID_SIGNATURE";
+        } else if (status == null) {
+            // Legacy rows may have no status; without one the card cannot be accepted
+            result = "UNKNOWN_STATUS";
+        } else if (status != IdCard.CardStatus.ACTIVE) {
+            result = status.name();
+        } else if (validTo != null && validTo.isBefore(today)) {
+            result = "EXPIRED";
+        } else if (validFrom != null && validFrom.isAfter(today)) {
+            result = "NOT_YET_VALID";
+        } else {
+            result = "VALID";
+        }
+        return verification(cardNumber, studentId, status, validTo, result, source);
+    }
+
+    private static IdCardVerificationDto verification(String cardNumber, String studentId, IdCard.CardStatus status,
+                                                      LocalDate validTo, String result, String source) {
+        return IdCardVerificationDto.builder()
+            .valid("VALID".equals(result))
+            .result(result)
+            .cardNumber(cardNumber)
+            .studentId(studentId)
+            .status(status != null ? status.name() : null)
+            .validTo(validTo)
+            .source(source)
+            .build();
+    }
+
+    private static IdCard.CardStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return IdCard.CardStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Invalid ID card status: " + status, ServiceConstants.ERROR_CODE, "INVALID_CARD_STATUS");
+        }
     }
     
     @Override
@@ -36,9 +178,11 @@ public class IdCardService implements IdCardServiceIMPL {
             requestDto.setCardNumber(generateCardNumber());
         }
         
+        LocalDate validTo = requestDto.getValidTo() != null ? requestDto.getValidTo() : LocalDate.now().plusYears(1);
+
         // Generate QR code if not provided
         if (requestDto.getQrCode() == null || requestDto.getQrCode().isEmpty()) {
-            requestDto.setQrCode(generateQRCode(requestDto.getCardNumber()));
+            requestDto.setQrCode(generateQRCode(requestDto.getCardNumber(), requestDto.getStudentId(), validTo));
         }
         
         IdCard idCard = IdCard.builder()
@@ -46,7 +190,7 @@ public class IdCardService implements IdCardServiceIMPL {
             .cardNumber(requestDto.getCardNumber())
             .issueDate(requestDto.getIssueDate() != null ? requestDto.getIssueDate() : LocalDate.now())
             .validFrom(requestDto.getValidFrom() != null ? requestDto.getValidFrom() : LocalDate.now())
-            .validTo(requestDto.getValidTo() != null ? requestDto.getValidTo() : LocalDate.now().plusYears(1))
+            .validTo(validTo)
             .status(IdCard.CardStatus.valueOf(requestDto.getStatus().toUpperCase()))
             .photoUrl(requestDto.getPhotoUrl())
             .qrCode(requestDto.getQrCode())
@@ -54,6 +198,7 @@ public class IdCardService implements IdCardServiceIMPL {
             .build();
         
         IdCard savedIdCard = idCardRepository.save(idCard);
+        idCardStatusIndex.indexAfterCommit(List.of(savedIdCard));
         
         log.info("Created ID card for student: {} with card number: {}", 
                  requestDto.getStudentId(), savedIdCard.getCardNumber());
@@ -67,13 +212,10 @@ public class IdCardService implements IdCardServiceIMPL {
     }
     
     private String generateCardNumber() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String randomSuffix = String.valueOf((int) (Math.random() * 90000) + 10000);
-        return "ID-" + year + "-" + randomSuffix;
+        return numberAllocationService.nextCardNumber();
     }
     
-    private String generateQRCode(String cardNumber) {
-        // Simple QR code data - in production, this would be more sophisticated
-        return "STUDENT_CARD:" + cardNumber + ":" + UUID.randomUUID().toString().substring(0, 8);
+    private String generateQRCode(String cardNumber, String studentId, LocalDate validTo) {
+        return idCardQrSigner.sign(cardNumber, studentId, validTo);
     }
 }
\ No newline at end of file
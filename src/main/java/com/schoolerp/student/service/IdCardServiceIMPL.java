@@ -1,8 +1,11 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.dto.IdCardListResponseDto;
 import com.schoolerp.student.dto.IdCardRequestDto;
+import com.schoolerp.student.dto.IdCardVerificationDto;
 import com.schoolerp.student.entity.IdCard;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -12,11 +15,18 @@ import java.util.List;
 public interface IdCardServiceIMPL {
     
     /**
-     * Retrieves all ID cards in the system
-     * 
-     * @return List of IdCard entities
+     * Retrieves a page of ID cards using keyset (cursor) pagination, newest first
+     *
+     * @param studentId Optional student filter
+     * @param status Optional card status filter (ACTIVE, EXPIRED, ...)
+     * @param validToFrom Optional lower bound (inclusive) of the card's validTo date
+     * @param validToUntil Optional upper bound (inclusive) of the card's validTo date
+     * @param cursor Opaque cursor from the previous page, null for the first page
+     * @param size Page size
+     * @return Card summaries and the cursor for the next page
      */
-    List<IdCard> getAllIdCards();
+    IdCardListResponseDto getIdCards(String studentId, String status, LocalDate validToFrom, LocalDate validToUntil,
+                                     String cursor, Integer size);
     
     /**
      * Creates a new ID card for a student
@@ -33,4 +43,17 @@ public interface IdCardServiceIMPL {
      * @return List of IdCard entities for the student
      */
     List<IdCard> getIdCardsByStudentId(String studentId);
-}
\ No newline at end of file
+
+    /**
+     * Verifies a scanned card, from the signed QR payload or a bare card number.
+     * Answered from the in-memory status index where possible. Verification fails closed: a card that is
+     * neither indexed nor readable from the database is answered UNVERIFIED from source UNAVAILABLE,
+     * even with a valid signature, since the signature says nothing about revocation.
+     *
+     * @param qrPayload Scanned QR payload, preferred when present
+     * @param cardNumber Card number typed or read from a barcode, used when no QR payload is given
+     * @return Verification outcome
+     * @throws com.schoolerp.student.exception.CustomException if neither value is given
+     */
+    IdCardVerificationDto verifyIdCard(String qrPayload, String cardNumber);
+}
@@ -0,0 +1,162 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.IdCardStatusRow;
+import com.schoolerp.student.entity.IdCard;
+import com.schoolerp.student.repository.IdCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of card number to verification state (student, status, validity) for gate scans.
+ * Only cards that have not run past their validity are held, which keeps the index small; older cards
+ * are answered from the database. The index is loaded once at startup, updated after each committed
+ * issuance and re-synced every few seconds from {@code updatedAt}, so changes made by other instances
+ * (revocations, expiry) show up and lookups keep working while the database is unavailable.
+ * {@code updatedAt} is the statement time on the writing instance's clock, not the commit time, so the sync
+ * overlap has to exceed the longest card write transaction plus the clock skew between instances; a change
+ * outside it would never be picked up and the index would keep answering VALID for a revoked card.
+ */
+@Component
+@Slf4j
+public class IdCardStatusIndex {
+
+    private final IdCardRepository idCardRepository;
+
+    @Value("${app.id-cards.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.id-cards.index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${app.id-cards.index.sync-overlap-seconds:30}")
+    private long syncOverlapSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastSyncedAt;
+
+    public IdCardStatusIndex(IdCardRepository idCardRepository) {
+        this.idCardRepository = idCardRepository;
+    }
+
+    /**
+     * Indexed card state; immutable so a lookup never observes a half-updated card
+     */
+    public record Entry(String studentId, IdCard.CardStatus status, LocalDate validFrom, LocalDate validTo) {
+    }
+
+    /**
+     * @return true once the initial load has completed and lookups can be answered from memory
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the card's indexed state, or empty if the card is unknown to the index
+     */
+    public Optional<Entry> find(String cardNumber) {
+        return cardNumber == null ? Optional.empty() : Optional.ofNullable(entries.get(cardNumber));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("ID card status index disabled; verification reads from the database");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
+        int afterId = 0;
+        try {
+            while (true) {
+                List<IdCardStatusRow> rows = idCardRepository.findStatusRowsAfterId(afterId, today, PageRequest.of(0, loadBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                rows.forEach(this::put);
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+            lastSyncedAt = loadStartedAt;
+            ready = true;
+            log.info("ID card status index loaded {} cards in {} ms", entries.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to load ID card status index; verification falls back to database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Picks up cards changed outside this instance since the last sync and drops cards past their validity
+     */
+    @Scheduled(fixedDelayString = "${app.id-cards.index.sync-interval-ms:5000}")
+    public void syncChanges() {
+        if (!isReady()) {
+            return;
+        }
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        try {
+            List<IdCardStatusRow> rows = idCardRepository.findStatusRowsUpdatedSince(lastSyncedAt.minusSeconds(syncOverlapSeconds));
+            rows.forEach(this::put);
+            if (!rows.isEmpty()) {
+                log.debug("ID card status index synced {} changed cards", rows.size());
+            }
+            LocalDate today = LocalDate.now();
+            entries.values().removeIf(entry -> entry.validTo() != null && entry.validTo().isBefore(today));
+            lastSyncedAt = syncStartedAt;
+        } catch (Exception e) {
+            log.warn("ID card status index sync failed, serving last known state: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes the cards once the surrounding transaction commits (immediately if there is none)
+     */
+    public void indexAfterCommit(Collection<IdCard> cards) {
+        if (!enabled) {
+            return;
+        }
+        List<IdCardStatusRow> rows = cards.stream()
+                .map(card -> new IdCardStatusRow(card.getId(), card.getCardNumber(), card.getStudentId(), card.getStatus(),
+                        card.getValidFrom(), card.getValidTo(), card.getUpdatedAt()))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rows.forEach(IdCardStatusIndex.this::put);
+                }
+            });
+        } else {
+            rows.forEach(this::put);
+        }
+    }
+
+    private void put(IdCardStatusRow row) {
+        if (row.getValidTo() != null && row.getValidTo().isBefore(LocalDate.now())) {
+            entries.remove(row.getCardNumber());
+            return;
+        }
+        entries.put(row.getCardNumber(), new Entry(row.getStudentId(), row.getStatus(), row.getValidFrom(), row.getValidTo()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Chunk loop shared by the bulk imports: reads the payload with {@link ImportReader} into chunks, hands each
+ * chunk to the import, and inserts a chunk's rows in one transaction, retrying them one by one if that fails
+ * so the error report pinpoints the offending rows. Malformed input stops the read; the rows read before it
+ * are still imported and the result is reported as incomplete.
+ *
+ * @param <T> Row type of the payload
+ */
+@Slf4j
+class ImportChunkDriver<T> {
+
+    /**
+     * Outcome of the rows, recorded into the import's result
+     */
+    interface Report<T> {
+
+        void rowsRead(int count);
+
+        void imported(int count);
+
+        void rejected(ImportReader.Row<T> row, String message);
+
+        /**
+         * Input is malformed at the given 1-based row; nothing after it was read
+         */
+        void stopped(int rowNumber, String message);
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final Report<T> report;
+
+    ImportChunkDriver(TransactionTemplate transactionTemplate, Report<T> report) {
+        this.transactionTemplate = transactionTemplate;
+        this.report = report;
+    }
+
+    /**
+     * Reads the payload and passes it to {@code importChunk} in chunks of {@code chunkSize} rows
+     *
+     * @throws CustomException if the payload cannot be read at all (unreadable stream, missing CSV header, not a JSON array)
+     */
+    void run(InputStream inputStream, ImportFormat format, Class<T> rowType, ObjectMapper objectMapper, int chunkSize,
+             Consumer<List<ImportReader.Row<T>>> importChunk) {
+        String logId = LogContext.getLogId();
+        int rowsRead = 0;
+        try (ImportReader<T> reader = new ImportReader<>(inputStream, format, rowType, objectMapper)) {
+            List<ImportReader.Row<T>> chunk = new ArrayList<>(chunkSize);
+            try {
+                ImportReader.Row<T> row;
+                while ((row = reader.next()) != null) {
+                    chunk.add(row);
+                    rowsRead++;
+                    if (chunk.size() == chunkSize) {
+                        importChunk(chunk, importChunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            } catch (ImportReader.MalformedImportException e) {
+                log.warn("logId: {} - Import input malformed, stopping: {}", logId, e.getMessage());
+                report.stopped(rowsRead + 1, e.getMessage() + "; remaining rows were not read");
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, importChunk);
+            }
+        } catch (ImportReader.MalformedImportException e) {
+            throw new CustomException(e.getMessage(), ServiceConstants.ERROR_CODE, "INVALID_IMPORT_FILE");
+        } catch (IOException e) {
+            log.error("logId: {} - Error reading import payload: {}", logId, e.getMessage(), e);
+            throw new CustomException("Unable to read import payload: " + e.getMessage(), ServiceConstants.ERROR_CODE, "INVALID_IMPORT_FILE");
+        }
+    }
+
+    /**
+     * Inserts the items in one transaction; if that fails, each item is inserted in its own transaction
+     * and the ones that still fail are rejected
+     *
+     * @param rowOf Payload row an item was prepared from, for the error report
+     * @param beforeRetry Clears what the rolled-back batch left on an item (e.g. an assigned id) before it is inserted alone
+     * @return The items that were inserted
+     */
+    <P> List<P> insert(List<P> items, Function<P, ImportReader.Row<T>> rowOf, Consumer<List<P>> insert, Consumer<P> beforeRetry) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> insert.accept(items));
+            report.imported(items.size());
+            return items;
+        } catch (Exception e) {
+            log.warn("logId: {} - Import chunk batch insert failed ({}), retrying {} rows individually",
+                     LogContext.getLogId(), e.getMessage(), items.size());
+        }
+        List<P> inserted = new ArrayList<>(items.size());
+        for (P item : items) {
+            beforeRetry.accept(item);
+            try {
+                transactionTemplate.executeWithoutResult(tx -> insert.accept(List.of(item)));
+                report.imported(1);
+                inserted.add(item);
+            } catch (Exception rowError) {
+                report.rejected(rowOf.apply(item), "Insert failed: " + rootMessage(rowError));
+            }
+        }
+        return inserted;
+    }
+
+    private void importChunk(List<ImportReader.Row<T>> chunk, Consumer<List<ImportReader.Row<T>>> importChunk) {
+        report.rowsRead(chunk.size());
+        importChunk.accept(chunk);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
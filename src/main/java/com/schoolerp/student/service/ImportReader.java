@@ -0,0 +1,210 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.dto.ImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull-based reader for bulk import payloads: a JSON array, NDJSON or CSV with a header row of
+ * property names of the row type (e.g. {@link com.schoolerp.student.dto.StudentRequestDto}). Rows are
+ * read one at a time, so the payload is never held in memory. A row that cannot be mapped is returned
+ * with an error instead of failing the import; malformed input (broken JSON, unterminated CSV quote)
+ * ends the read with {@link MalformedImportException}.
+ */
+class ImportReader<T> implements Closeable {
+
+    record Row<T>(int rowNumber, T value, String error) {
+    }
+
+    static class MalformedImportException extends RuntimeException {
+        MalformedImportException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> rowType;
+    private final BufferedReader reader;
+    private final JsonParser jsonParser;
+    private final boolean ndjson;
+    private List<String> csvHeader;
+    private int rowNumber;
+
+    ImportReader(InputStream inputStream, ImportFormat format, Class<T> rowType, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.rowType = rowType;
+        if (format == ImportFormat.JSON) {
+            this.reader = null;
+            this.ndjson = false;
+            this.jsonParser = objectMapper.getFactory().createParser(inputStream);
+            if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
+                throw new MalformedImportException("JSON import must be an array of rows", null);
+            }
+        } else {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+            this.ndjson = format == ImportFormat.NDJSON;
+            this.jsonParser = null;
+            if (!ndjson) {
+                this.csvHeader = readCsvRecord();
+                if (csvHeader == null) {
+                    throw new MalformedImportException("CSV import requires a header row", null);
+                }
+                csvHeader.replaceAll(String::trim);
+            }
+        }
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     */
+    Row<T> next() {
+        try {
+            if (jsonParser != null) {
+                return nextJsonArrayElement();
+            }
+            return ndjson ? nextNdjsonLine() : nextCsvRecord();
+        } catch (MalformedImportException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new MalformedImportException("Malformed input after row " + rowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Row<T> nextJsonArrayElement() throws IOException {
+        JsonToken token = jsonParser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        JsonNode node = jsonParser.readValueAsTree();
+        return map(++rowNumber, node);
+    }
+
+    private Row<T> nextNdjsonLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        int row = ++rowNumber;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return new Row<>(row, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        return map(row, node);
+    }
+
+    private Row<T> nextCsvRecord() throws IOException {
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+        int row = ++rowNumber;
+        if (values.size() > csvHeader.size()) {
+            return new Row<>(row, null, "Row has " + values.size() + " columns, header has " + csvHeader.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isBlank()) {
+                fields.put(csvHeader.get(i), values.get(i).trim());
+            }
+        }
+        return map(row, objectMapper.valueToTree(fields));
+    }
+
+    private Row<T> map(int row, JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return new Row<>(row, null, "Row is not an object");
+        }
+        try {
+            return new Row<>(row, objectMapper.treeToValue(node, rowType), null);
+        } catch (IOException | IllegalArgumentException e) {
+            String message = e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage();
+            return new Row<>(row, null, "Invalid value: " + message);
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record; quoted fields may contain separators, escaped quotes and line breaks
+     *
+     * @return the record's fields, or {@code null} at the end of the input
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedImportException("Unterminated quoted CSV field after row " + rowNumber, null);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (peek != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jsonParser != null) {
+            jsonParser.close();
+        }
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
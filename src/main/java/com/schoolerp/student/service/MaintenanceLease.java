@@ -0,0 +1,65 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.InstanceIdentity;
+import com.schoolerp.student.entity.MaintenanceJobState;
+import com.schoolerp.student.repository.MaintenanceJobStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Database lease and checkpoint for scheduled maintenance jobs, so that with several instances
+ * each job runs on one of them at a time and resumes where the previous run stopped
+ */
+@Component
+@Slf4j
+public class MaintenanceLease {
+
+    private final MaintenanceJobStateRepository repository;
+    private final String instanceId = InstanceIdentity.getInstanceId();
+
+    @Value("${app.maintenance.lease-seconds:600}")
+    private long leaseSeconds;
+
+    public MaintenanceLease(MaintenanceJobStateRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Takes the job's lease, creating its state row on first use
+     *
+     * @return the job state if this instance now holds the lease, null if another instance does
+     */
+    public MaintenanceJobState acquire(String jobName) {
+        if (!repository.existsById(jobName)) {
+            try {
+                repository.saveAndFlush(MaintenanceJobState.builder().jobName(jobName).build());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Maintenance job state {} created concurrently", jobName);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.acquire(jobName, instanceId, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return null;
+        }
+        return repository.findById(jobName).orElse(null);
+    }
+
+    /**
+     * Saves progress and extends the lease, inside the caller's transaction if there is one
+     *
+     * @return false if another instance has taken over the lease; the caller should stop
+     */
+    public boolean checkpoint(String jobName, long lastProcessedId, long processed) {
+        return repository.checkpoint(jobName, instanceId, lastProcessedId, processed,
+                                     LocalDateTime.now().plusSeconds(leaseSeconds)) > 0;
+    }
+
+    public void release(String jobName, String error) {
+        repository.release(jobName, instanceId, LocalDateTime.now(),
+                           error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.dto.MarksheetImportResultDto;
+
+import java.io.InputStream;
+
+/**
+ * Bulk creation of marksheets, e.g. a whole board's results on results day
+ */
+public interface MarksheetImportService {
+
+    /**
+     * Imports marksheets from a JSON array, NDJSON or CSV stream in chunks and re-ranks every cohort touched.
+     * Valid rows are committed chunk by chunk; invalid rows are reported and skipped.
+     *
+     * @param inputStream Payload, read incrementally
+     * @param format Payload format
+     * @return Counts and a per-row error report
+     */
+    MarksheetImportResultDto importMarksheets(InputStream inputStream, ImportFormat format);
+}
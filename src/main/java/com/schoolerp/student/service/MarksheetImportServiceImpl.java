@@ -0,0 +1,207 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.dto.MarksheetImportResultDto;
+import com.schoolerp.student.dto.MarksheetRequestDto;
+import com.schoolerp.student.dto.SubjectMarkDto;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetSubject;
+import com.schoolerp.student.mapper.MarksheetMapper;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
+import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Chunked bulk marksheet import: rows are read incrementally, validated and mapped (totals, percentage,
+ * grade) in parallel, then inserted together with their subject rows using JDBC batching in one transaction
+ * per chunk. If a chunk's batch insert fails, its rows are retried one by one so the error report pinpoints
+ * the offending rows. Each cohort that received marksheets is re-ranked once at the end, not per row.
+ */
+@Service
+@Slf4j
+public class MarksheetImportServiceImpl implements MarksheetImportService {
+
+    /**
+     * A mapped row ready for insert, or the reason it was rejected
+     */
+    private record PreparedRow(ImportReader.Row<MarksheetRequestDto> row, Marksheet marksheet,
+                               List<SubjectMarkDto> subjectMarks, String error) {
+    }
+
+    private final MarksheetRepository marksheetRepository;
+    private final MarksheetSubjectRepository marksheetSubjectRepository;
+    private final MarksheetMapper marksheetMapper;
+    private final MarksheetSubjectMapper marksheetSubjectMapper;
+    private final MarksheetRankEngine marksheetRankEngine;
+    private final PublishedResultsCache publishedResultsCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.marksheets.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public MarksheetImportServiceImpl(MarksheetRepository marksheetRepository,
+                                      MarksheetSubjectRepository marksheetSubjectRepository,
+                                      MarksheetMapper marksheetMapper, MarksheetSubjectMapper marksheetSubjectMapper,
+                                      MarksheetRankEngine marksheetRankEngine, PublishedResultsCache publishedResultsCache,
+                                      Validator validator,
+                                      ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.marksheetRepository = marksheetRepository;
+        this.marksheetSubjectRepository = marksheetSubjectRepository;
+        this.marksheetMapper = marksheetMapper;
+        this.marksheetSubjectMapper = marksheetSubjectMapper;
+        this.marksheetRankEngine = marksheetRankEngine;
+        this.publishedResultsCache = publishedResultsCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public MarksheetImportResultDto importMarksheets(InputStream inputStream, ImportFormat format) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting marksheet import, format: {}, chunk size: {}", logId, format, chunkSize);
+        long start = System.currentTimeMillis();
+
+        MarksheetImportResultDto result = MarksheetImportResultDto.builder().build();
+        ResultReport report = new ResultReport(result);
+        ImportChunkDriver<MarksheetRequestDto> driver = new ImportChunkDriver<>(transactionTemplate, report);
+        Set<MarksheetRankEngine.Cohort> cohorts = new LinkedHashSet<>();
+        driver.run(inputStream, format, MarksheetRequestDto.class, objectMapper, chunkSize,
+                   chunk -> importChunk(chunk, cohorts, driver, report));
+
+        for (MarksheetRankEngine.Cohort cohort : cohorts) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> marksheetRankEngine.recompute(cohort));
+                result.setCohortsRanked(result.getCohortsRanked() + 1);
+            } catch (Exception e) {
+                log.error("logId: {} - Ranking cohort {} after import failed: {}", logId, cohort, e.getMessage(), e);
+            }
+        }
+
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("logId: {} - Marksheet import finished: {} rows, {} imported, {} failed, {} cohorts ranked in {} ms",
+                 logId, result.getTotalRows(), result.getImported(), result.getFailed(), result.getCohortsRanked(),
+                 result.getDurationMs());
+        return result;
+    }
+
+    private void importChunk(List<ImportReader.Row<MarksheetRequestDto>> rows, Set<MarksheetRankEngine.Cohort> cohorts,
+                             ImportChunkDriver<MarksheetRequestDto> driver, ResultReport report) {
+        String logId = LogContext.getLogId();
+        long chunkStart = System.currentTimeMillis();
+
+        // 1. Validation plus percentage and grade derivation are CPU-only, so rows are mapped in parallel (order is preserved)
+        List<PreparedRow> prepared = rows.parallelStream().map(this::prepare).toList();
+
+        List<PreparedRow> toInsert = new ArrayList<>(prepared.size());
+        for (PreparedRow row : prepared) {
+            if (row.error() != null) {
+                report.rejected(row.row(), row.error());
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        // 2. Batched insert of the whole chunk in one transaction; a row retried alone drops the id the
+        // rolled-back batch gave it, so it is persisted as new instead of merged
+        List<PreparedRow> inserted = driver.insert(toInsert, PreparedRow::row, this::insert, row -> row.marksheet().setId(null));
+        inserted.forEach(row -> cohorts.add(MarksheetRankEngine.Cohort.of(row.marksheet())));
+        cohorts.removeIf(cohort -> !cohort.isRankable());
+
+        MarksheetImportResultDto result = report.result;
+        log.info("logId: {} - Import chunk of {} rows done in {} ms (imported so far: {}, failed so far: {})",
+                 logId, rows.size(), System.currentTimeMillis() - chunkStart, result.getImported(), result.getFailed());
+    }
+
+    private void insert(List<PreparedRow> rows) {
+        // Inserted as JDBC batches (hibernate.jdbc.batch_size) with ids drawn from the pooled sequences
+        marksheetRepository.saveAll(rows.stream().map(PreparedRow::marksheet).toList());
+        List<MarksheetSubject> subjects = new ArrayList<>();
+        for (PreparedRow row : rows) {
+            if (row.subjectMarks() != null) {
+                subjects.addAll(marksheetSubjectMapper.toRows(row.marksheet(), row.subjectMarks()));
+            }
+        }
+        if (!subjects.isEmpty()) {
+            marksheetSubjectRepository.saveAll(subjects);
+        }
+        marksheetRepository.flush();
+        publishedResultsCache.evictAfterCommit(rows.stream().map(row -> row.marksheet().getStudentId()).toList());
+    }
+
+    private PreparedRow prepare(ImportReader.Row<MarksheetRequestDto> row) {
+        if (row.error() != null) {
+            return new PreparedRow(row, null, null, row.error());
+        }
+        Set<ConstraintViolation<MarksheetRequestDto>> violations = validator.validate(row.value());
+        if (!violations.isEmpty()) {
+            return new PreparedRow(row, null, null, violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        try {
+            Marksheet marksheet = new Marksheet();
+            List<SubjectMarkDto> subjectMarks = marksheetMapper.applyRequest(marksheet, row.value());
+            return new PreparedRow(row, marksheet, subjectMarks, null);
+        } catch (RuntimeException e) {
+            // e.g. duplicate subjects, marks above the maximum or an unknown status
+            return new PreparedRow(row, null, null, e.getMessage());
+        }
+    }
+
+    private static final class ResultReport implements ImportChunkDriver.Report<MarksheetRequestDto> {
+        private final MarksheetImportResultDto result;
+
+        private ResultReport(MarksheetImportResultDto result) {
+            this.result = result;
+        }
+
+        @Override
+        public void rowsRead(int count) {
+            result.setTotalRows(result.getTotalRows() + count);
+        }
+
+        @Override
+        public void imported(int count) {
+            result.setImported(result.getImported() + count);
+        }
+
+        @Override
+        public void rejected(ImportReader.Row<MarksheetRequestDto> row, String message) {
+            result.setFailed(result.getFailed() + 1);
+            result.getErrors().add(MarksheetImportResultDto.RowError.builder()
+                .row(row.rowNumber())
+                .studentId(row.value() != null ? row.value().getStudentId() : null)
+                .message(message)
+                .build());
+        }
+
+        @Override
+        public void stopped(int rowNumber, String message) {
+            result.setCompleted(false);
+            result.getErrors().add(MarksheetImportResultDto.RowError.builder()
+                .row(rowNumber)
+                .message(message)
+                .build());
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.dto.MarksheetScoreRow;
+import com.schoolerp.student.dto.RankComputationResultDto;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetCohortLock;
+import com.schoolerp.student.repository.MarksheetCohortLockRepository;
+import com.schoolerp.student.repository.MarksheetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Computes dense ranks (equal percentages share a rank, the next percentage gets the next rank)
+ * within a cohort of marksheets. A full run sorts the cohort's percentages as a primitive array and
+ * writes only the ranks that changed, one CASE UPDATE per chunk. A single corrected marksheet is
+ * re-ranked incrementally with at most two range UPDATEs instead of re-ranking the whole cohort.
+ * Callers are expected to run inside a transaction. Every rank change holds the cohort's row in
+ * {@code marksheet_cohort_locks} until that transaction ends, taken before any marksheet row is written,
+ * so concurrent changes to one cohort cannot both shift the same ranks.
+ */
+@Component
+@Slf4j
+public class MarksheetRankEngine {
+
+    /**
+     * Ranking scope; a null section or exam type only matches marksheets that have none
+     */
+    public record Cohort(String academicYear, String className, String section, String examType) {
+
+        public static Cohort of(Marksheet marksheet) {
+            return new Cohort(marksheet.getAcademicYear(), marksheet.getClassName(),
+                    marksheet.getSection(), marksheet.getExamType());
+        }
+
+        public boolean isRankable() {
+            return academicYear != null && className != null;
+        }
+    }
+
+    private static final int MAX_COHORT_KEY_LENGTH = 200;
+
+    private final MarksheetRepository marksheetRepository;
+    private final MarksheetCohortLockRepository cohortLockRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate requiresNew;
+
+    @Value("${app.marksheets.rank.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Rank UPDATE for a full chunk, built once since every chunk is padded to the same size
+     */
+    private volatile String rankUpdateJpql;
+
+    public MarksheetRankEngine(MarksheetRepository marksheetRepository, MarksheetCohortLockRepository cohortLockRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.marksheetRepository = marksheetRepository;
+        this.cohortLockRepository = cohortLockRepository;
+        this.entityManager = entityManager;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Locks the given cohorts until the surrounding transaction ends, in key order so two writers locking
+     * overlapping cohorts cannot deadlock. Must be called before the marksheets of those cohorts are written.
+     */
+    public void lockCohorts(Collection<Cohort> cohorts) {
+        SortedSet<String> keys = cohorts.stream()
+                .filter(Objects::nonNull)
+                .filter(Cohort::isRankable)
+                .map(MarksheetRankEngine::cohortKey)
+                .collect(Collectors.toCollection(TreeSet::new));
+        for (String key : keys) {
+            if (!cohortLockRepository.existsById(key)) {
+                // Created outside the caller's transaction, so a concurrent first use cannot roll it back
+                try {
+                    requiresNew.executeWithoutResult(tx -> cohortLockRepository.saveAndFlush(
+                            MarksheetCohortLock.builder().cohortKey(key).createdAt(LocalDateTime.now()).build()));
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("logId: {} - Cohort lock {} created concurrently", LogContext.getLogId(), key);
+                }
+            }
+            cohortLockRepository.findForUpdate(key)
+                    .orElseThrow(() -> new IllegalStateException("Cohort lock row missing: " + key));
+        }
+    }
+
+    /**
+     * Prepares an update of an existing marksheet: locks its current cohort and the cohort it moves to, then
+     * re-reads it under a row lock so the previous cohort and percentage handed to {@link #applyChange} are current
+     */
+    public void lockForUpdate(Marksheet marksheet, Cohort targetCohort) {
+        Cohort lockedCohort = Cohort.of(marksheet);
+        lockCohorts(List.of(lockedCohort, targetCohort));
+        entityManager.refresh(marksheet, LockModeType.PESSIMISTIC_WRITE);
+        if (!Cohort.of(marksheet).equals(lockedCohort)) {
+            // Moved by a concurrent update before the locks were taken
+            lockCohorts(List.of(Cohort.of(marksheet)));
+        }
+    }
+
+    /**
+     * Ranks every marksheet of the cohort by percentage; marksheets without a percentage lose their rank
+     */
+    public RankComputationResultDto recompute(Cohort cohort) {
+        lockCohorts(List.of(cohort));
+        return rank(cohort);
+    }
+
+    private RankComputationResultDto rank(Cohort cohort) {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+        List<MarksheetScoreRow> rows = marksheetRepository.findScoresByCohort(cohort.academicYear(),
+                cohort.className(), cohort.section(), cohort.examType());
+
+        List<MarksheetScoreRow> scored = new ArrayList<>(rows.size());
+        List<Integer> clearIds = new ArrayList<>();
+        for (MarksheetScoreRow row : rows) {
+            if (row.getPercentage() != null) {
+                scored.add(row);
+            } else if (row.getRank() != null) {
+                clearIds.add(row.getId());
+            }
+        }
+
+        double[] scores = new double[scored.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = scored.get(i).getPercentage();
+        }
+        int[] ranks = denseRanks(scores);
+
+        List<Integer> changedIds = new ArrayList<>();
+        List<Integer> changedRanks = new ArrayList<>();
+        int distinctRanks = 0;
+        for (int i = 0; i < ranks.length; i++) {
+            distinctRanks = Math.max(distinctRanks, ranks[i]);
+            if (!Objects.equals(scored.get(i).getRank(), ranks[i])) {
+                changedIds.add(scored.get(i).getId());
+                changedRanks.add(ranks[i]);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < changedIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, changedIds.size());
+            updated += updateRanks(changedIds.subList(from, to), changedRanks.subList(from, to), now);
+        }
+        if (!clearIds.isEmpty()) {
+            updated += marksheetRepository.clearRanksByIdIn(clearIds, now);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("logId: {} - Ranked cohort {}: {} marksheets, {} ranked, {} distinct ranks, {} updated in {} ms",
+                 logId, cohort, rows.size(), scored.size(), distinctRanks, updated, durationMs);
+        return RankComputationResultDto.builder()
+                .academicYear(cohort.academicYear())
+                .className(cohort.className())
+                .section(cohort.section())
+                .examType(cohort.examType())
+                .cohortSize(rows.size())
+                .ranked(scored.size())
+                .distinctRanks(distinctRanks)
+                .updated(updated)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Re-ranks after one marksheet was created or corrected. The marksheet must already be saved with
+     * its new cohort and percentage, and the caller must hold the locks of the previous and the new cohort
+     * ({@link #lockCohorts} or {@link #lockForUpdate}) taken before the save. If the previous ranks of the
+     * cohort cannot be trusted (some scored marksheet has no rank yet) the whole cohort is recomputed instead.
+     *
+     * @param marksheetId Saved marksheet
+     * @param previousCohort Cohort before the change, null for a new marksheet
+     * @param previousPercentage Percentage before the change, null if it was not ranked
+     */
+    public void applyChange(Integer marksheetId, Cohort previousCohort, Double previousPercentage, Marksheet current) {
+        Cohort cohort = Cohort.of(current);
+        Double percentage = current.getPercentage();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (previousCohort != null && previousCohort.isRankable() && !previousCohort.equals(cohort)) {
+            // Moved out of a cohort: only the gap it leaves behind needs closing
+            closeGap(previousCohort, marksheetId, previousPercentage, now);
+            previousPercentage = null;
+        }
+        if (!cohort.isRankable()) {
+            marksheetRepository.updateRank(marksheetId, null, now);
+            current.setRank(null);
+            return;
+        }
+        if (marksheetRepository.countUnrankedInCohort(cohort.academicYear(), cohort.className(), cohort.section(),
+                cohort.examType(), marksheetId) > 0) {
+            rank(cohort);
+            current.setRank(marksheetRepository.findById(marksheetId).map(Marksheet::getRank).orElse(null));
+            return;
+        }
+
+        if (!Objects.equals(previousPercentage, percentage)) {
+            closeGap(cohort, marksheetId, previousPercentage, now);
+            if (percentage != null && !hasOther(cohort, marksheetId, percentage)) {
+                marksheetRepository.shiftRanksBelow(cohort.academicYear(), cohort.className(), cohort.section(),
+                        cohort.examType(), percentage, marksheetId, 1, now);
+            }
+        }
+        Integer rank = percentage == null ? null : (int) marksheetRepository.countDistinctPercentagesAbove(
+                cohort.academicYear(), cohort.className(), cohort.section(), cohort.examType(), percentage, marksheetId) + 1;
+        marksheetRepository.updateRank(marksheetId, rank, now);
+        current.setRank(rank);
+    }
+
+    /**
+     * Dense ranks for the given scores, highest score first: sorts a copy, collapses it to its
+     * distinct values and looks every score up by binary search
+     */
+    static int[] denseRanks(double[] scores) {
+        double[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || Double.compare(sorted[i], sorted[distinct - 1]) != 0) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        int[] ranks = new int[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            ranks[i] = distinct - Arrays.binarySearch(sorted, 0, distinct, scores[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Moves everyone below a percentage that no longer occurs in the cohort up by one rank
+     */
+    private void closeGap(Cohort cohort, Integer marksheetId, Double percentage, LocalDateTime now) {
+        if (percentage != null && !hasOther(cohort, marksheetId, percentage)) {
+            marksheetRepository.shiftRanksBelow(cohort.academicYear(), cohort.className(), cohort.section(),
+                    cohort.examType(), percentage, marksheetId, -1, now);
+        }
+    }
+
+    private boolean hasOther(Cohort cohort, Integer marksheetId, Double percentage) {
+        return marksheetRepository.countWithPercentageInCohort(cohort.academicYear(), cohort.className(),
+                cohort.section(), cohort.examType(), percentage, marksheetId) > 0;
+    }
+
+    /**
+     * Writes the ranks of one chunk with a single {@code UPDATE ... SET rank = CASE id WHEN ... END}
+     * A short chunk is padded by repeating its last id and rank, so every chunk runs the same statement
+     * and the query plan cache holds one entry rather than one per chunk length.
+     */
+    private int updateRanks(List<Integer> ids, List<Integer> ranks, LocalDateTime now) {
+        Query query = entityManager.createQuery(rankUpdateJpql());
+        List<Integer> paddedIds = new ArrayList<>(chunkSize);
+        for (int i = 0; i < chunkSize; i++) {
+            int source = Math.min(i, ids.size() - 1);
+            query.setParameter("id" + i, ids.get(source));
+            query.setParameter("rank" + i, ranks.get(source));
+            paddedIds.add(ids.get(source));
+        }
+        query.setParameter("now", now);
+        query.setParameter("ids", paddedIds);
+        return query.executeUpdate();
+    }
+
+    private String rankUpdateJpql() {
+        String jpql = rankUpdateJpql;
+        if (jpql == null) {
+            StringBuilder builder = new StringBuilder("UPDATE Marksheet m SET m.rank = CASE m.id");
+            for (int i = 0; i < chunkSize; i++) {
+                builder.append(" WHEN :id").append(i).append(" THEN :rank").append(i);
+            }
+            builder.append(" ELSE m.rank END, m.updatedAt = :now WHERE m.id IN :ids");
+            jpql = builder.toString();
+            rankUpdateJpql = jpql;
+        }
+        return jpql;
+    }
+
+    /**
+     * Lock row key of a cohort; keys of distinct cohorts may only collide by truncation, which merely over-serializes
+     */
+    private static String cohortKey(Cohort cohort) {
+        String key = String.join("|", cohort.academicYear(), cohort.className(),
+                Objects.toString(cohort.section(), ""), Objects.toString(cohort.examType(), ""));
+        return key.length() > MAX_COHORT_KEY_LENGTH ? key.substring(0, MAX_COHORT_KEY_LENGTH) : key;
+    }
+}
@@ -1,14 +1,38 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.common.KeysetCursor;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.MarksheetListResponseDto;
 import com.schoolerp.student.dto.MarksheetRequestDto;
+import com.schoolerp.student.dto.MarksheetResponseDto;
+import com.schoolerp.student.dto.MarksheetSummaryRow;
+import com.schoolerp.student.dto.PublishMarksheetsRequestDto;
+import com.schoolerp.student.dto.RankComputationResultDto;
+import com.schoolerp.student.dto.SubjectMarkDto;
+import com.schoolerp.student.dto.SubjectStatsRow;
+import com.schoolerp.student.dto.SubjectTopperRow;
 import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetSubject;
+import com.schoolerp.student.exception.CustomException;
+import com.schoolerp.student.exception.ResourceNotFoundException;
+import com.schoolerp.student.mapper.MarksheetMapper;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
 import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -17,70 +41,207 @@ public class MarksheetService implements MarksheetServiceIMPL {
 
     @Autowired
     private final MarksheetRepository marksheetRepository;
+    @Autowired
+    private final MarksheetSubjectRepository marksheetSubjectRepository;
+    @Autowired
+    private final MarksheetSubjectMapper marksheetSubjectMapper;
+    @Autowired
+    private final MarksheetMapper marksheetMapper;
+    @Autowired
+    private final MarksheetRankEngine marksheetRankEngine;
+    @Autowired
+    private final PublishedResultsCache publishedResultsCache;
 
-    public MarksheetService(MarksheetRepository marksheetRepository) {
+    public MarksheetService(MarksheetRepository marksheetRepository, MarksheetSubjectRepository marksheetSubjectRepository,
+                            MarksheetSubjectMapper marksheetSubjectMapper, MarksheetMapper marksheetMapper,
+                            MarksheetRankEngine marksheetRankEngine, PublishedResultsCache publishedResultsCache) {
         this.marksheetRepository = marksheetRepository;
+        this.marksheetSubjectRepository = marksheetSubjectRepository;
+        this.marksheetSubjectMapper = marksheetSubjectMapper;
+        this.marksheetMapper = marksheetMapper;
+        this.marksheetRankEngine = marksheetRankEngine;
+        this.publishedResultsCache = publishedResultsCache;
     }
 
     @Override
-    public List<Marksheet> getAllMarksheets() {
-        return marksheetRepository.findAll();
+    @Transactional(readOnly = true)
+    public MarksheetListResponseDto getMarksheets(String academicYear, String className, String section, String examType,
+                                                  String status, boolean includeSubjects, String cursor, Integer size) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting getMarksheets with academicYear: {}, class: {}, section: {}, examType: {}, status: {}, size: {}",
+                 logId, academicYear, className, section, examType, status, size);
+
+        int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<MarksheetSummaryRow> rows = marksheetRepository.findSummariesAfterCursor(
+            blankToNull(academicYear),
+            blankToNull(className),
+            blankToNull(section),
+            blankToNull(examType),
+            parseStatus(status),
+            after != null ? after.getId() : null,
+            PageRequest.of(0, pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<MarksheetSummaryRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        if (includeSubjects && !page.isEmpty()) {
+            attachSubjects(page);
+        }
+        MarksheetListResponseDto result = new MarksheetListResponseDto(page, null);
+        if (hasMore) {
+            result.setNextCursor(new KeysetCursor(null, page.get(page.size() - 1).getId()).encode());
+        }
+
+        log.info("logId: {} - Retrieved {} marksheets, hasMore: {}", logId, page.size(), hasMore);
+        return result;
     }
     
     @Override
-    public Marksheet createMarksheet(MarksheetRequestDto requestDto) {
-        // Calculate percentage if totalMarks and maxTotalMarks are provided
-        Double percentage = requestDto.getPercentage();
-        if ((percentage == null || percentage == 0.0) && 
-            requestDto.getTotalMarks() != null && requestDto.getMaxTotalMarks() != null && 
-            requestDto.getMaxTotalMarks() > 0) {
-            percentage = (requestDto.getTotalMarks().doubleValue() / requestDto.getMaxTotalMarks()) * 100;
-        }
-        
-        // Calculate grade based on percentage
-        String grade = requestDto.getGrade();
-        if (grade == null || grade.isEmpty()) {
-            grade = calculateGrade(percentage != null ? percentage : 0.0);
-        }
-        
-        Marksheet marksheet = Marksheet.builder()
-            .studentId(requestDto.getStudentId())
-            .examType(requestDto.getExamType())
-            .academicYear(requestDto.getAcademicYear())
-            .className(requestDto.getClassName())
-            .section(requestDto.getSection())
-            .subjects(requestDto.getSubjects())
-            .totalMarks(requestDto.getTotalMarks())
-            .maxTotalMarks(requestDto.getMaxTotalMarks())
-            .percentage(percentage)
-            .grade(grade)
-            .rank(requestDto.getRank())
-            .result(requestDto.getResult())
-            .status(Marksheet.MarksheetStatus.valueOf(requestDto.getStatus().toUpperCase()))
-            .publishDate(requestDto.getPublishDate())
-            .build();
-        
+    public MarksheetResponseDto createMarksheet(MarksheetRequestDto requestDto) {
+        Marksheet marksheet = new Marksheet();
+        List<SubjectMarkDto> subjectMarks = marksheetMapper.applyRequest(marksheet, requestDto);
+
+        marksheetRankEngine.lockCohorts(List.of(MarksheetRankEngine.Cohort.of(marksheet)));
         Marksheet savedMarksheet = marksheetRepository.save(marksheet);
+        List<SubjectMarkDto> savedSubjectMarks = null;
+        if (subjectMarks != null) {
+            savedSubjectMarks = marksheetSubjectMapper.toDtos(
+                    marksheetSubjectRepository.saveAll(marksheetSubjectMapper.toRows(savedMarksheet, subjectMarks)));
+        }
+        marksheetRankEngine.applyChange(savedMarksheet.getId(), null, null, savedMarksheet);
+        publishedResultsCache.evictAfterCommit(List.of(savedMarksheet.getStudentId()));
         
         log.info("Created marksheet for student: {} for {} exam", 
                  requestDto.getStudentId(), requestDto.getExamType());
         
-        return savedMarksheet;
+        return new MarksheetResponseDto(savedMarksheet, savedSubjectMarks);
     }
-    
+
     @Override
-    public List<Marksheet> getMarksheetsByStudentId(String studentId) {
-        return marksheetRepository.findByStudentId(studentId);
+    public MarksheetResponseDto updateMarksheet(Integer id, MarksheetRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        Marksheet marksheet = marksheetRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException(ServiceConstants.MARKSHEET_NOT_FOUND + " with id: " + id));
+
+        marksheetRankEngine.lockForUpdate(marksheet, new MarksheetRankEngine.Cohort(requestDto.getAcademicYear(),
+                requestDto.getClassName(), requestDto.getSection(), requestDto.getExamType()));
+        String previousStudentId = marksheet.getStudentId();
+        MarksheetRankEngine.Cohort previousCohort = MarksheetRankEngine.Cohort.of(marksheet);
+        Double previousPercentage = marksheet.getRank() != null && marksheet.getRank() > 0 ? marksheet.getPercentage() : null;
+
+        List<SubjectMarkDto> subjectMarks = marksheetMapper.applyRequest(marksheet, requestDto);
+        Marksheet savedMarksheet = marksheetRepository.saveAndFlush(marksheet);
+        List<SubjectMarkDto> savedSubjectMarks = null;
+        if (subjectMarks != null) {
+            marksheetSubjectRepository.deleteByMarksheetId(id);
+            savedSubjectMarks = marksheetSubjectMapper.toDtos(
+                    marksheetSubjectRepository.saveAll(marksheetSubjectMapper.toRows(savedMarksheet, subjectMarks)));
+        }
+        marksheetRankEngine.applyChange(id, previousCohort, previousPercentage, savedMarksheet);
+        publishedResultsCache.evictAfterCommit(List.of(previousStudentId, savedMarksheet.getStudentId()));
+
+        log.info("logId: {} - Updated marksheet {} for student: {}, percentage {} -> {}, rank {}", logId, id,
+                 savedMarksheet.getStudentId(), previousPercentage, savedMarksheet.getPercentage(), savedMarksheet.getRank());
+        return new MarksheetResponseDto(savedMarksheet, savedSubjectMarks);
     }
-    
-    private String calculateGrade(Double percentage) {
-        if (percentage >= 90) return "A+";
-        else if (percentage >= 80) return "A";
-        else if (percentage >= 70) return "B+";
-        else if (percentage >= 60) return "B";
-        else if (percentage >= 50) return "C+";
-        else if (percentage >= 40) return "C";
-        else if (percentage >= 33) return "D";
-        else return "F";
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public byte[] getPublishedMarksheetsJson(String studentId) {
+        return publishedResultsCache.get(studentId);
+    }
+
+    @Override
+    public RankComputationResultDto recomputeRanks(String academicYear, String className, String section, String examType) {
+        return marksheetRankEngine.recompute(new MarksheetRankEngine.Cohort(academicYear.trim(), className.trim(),
+                blankToNull(section), blankToNull(examType)));
+    }
+
+    @Override
+    public int publishMarksheets(PublishMarksheetsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+        LocalDate publishDate = requestDto.getPublishDate() != null ? requestDto.getPublishDate() : LocalDate.now();
+        String academicYear = requestDto.getAcademicYear().trim();
+        String examType = requestDto.getExamType().trim();
+        String className = blankToNull(requestDto.getClassName());
+        String section = blankToNull(requestDto.getSection());
+
+        List<String> studentIds = marksheetRepository.findDraftStudentIds(academicYear, examType, className, section);
+        int published = marksheetRepository.publishDrafts(academicYear, examType, className, section, publishDate, LocalDateTime.now());
+        // Results go live now, so the affected students' pages are rendered before parents ask for them
+        publishedResultsCache.warmAfterCommit(studentIds);
+        log.info("logId: {} - Published {} marksheets for {} {} {}-{} on {} in {} ms", logId, published,
+                 requestDto.getAcademicYear(), requestDto.getExamType(), requestDto.getClassName(), requestDto.getSection(),
+                 publishDate, System.currentTimeMillis() - start);
+        return published;
+    }
+
+    @Override
+    public List<MarksheetResponseDto> getMarksheetsByStudentId(String studentId) {
+        List<Marksheet> marksheets = marksheetRepository.findByStudentId(studentId);
+        if (marksheets.isEmpty()) {
+            return List.of();
+        }
+        return marksheetSubjectMapper.toResponses(marksheets, marksheetSubjectRepository
+                .findByMarksheetIdInOrderById(marksheets.stream().map(Marksheet::getId).toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SubjectStatsRow> getSubjectStats(String academicYear, String examType, String className, String section) {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+        List<SubjectStatsRow> stats = marksheetSubjectRepository.findSubjectStats(academicYear, blankToNull(examType),
+                blankToNull(className), blankToNull(section));
+        log.info("logId: {} - Subject stats for {} {} {}-{}: {} subjects in {} ms", logId, academicYear, examType,
+                 className, section, stats.size(), System.currentTimeMillis() - start);
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SubjectTopperRow> getSubjectToppers(String academicYear, String subject, String examType, String className,
+                                                    String section, Integer limit) {
+        int size = limit != null && limit > 0 ? Math.min(limit, 100) : 10;
+        return marksheetSubjectRepository.findSubjectToppers(academicYear, marksheetSubjectMapper.normalizeSubject(subject), blankToNull(examType),
+                blankToNull(className), blankToNull(section), PageRequest.of(0, size));
+    }
+
+    /**
+     * Adds the subjects text and structured subject marks to a page of summaries, one IN query each
+     */
+    private void attachSubjects(List<MarksheetSummaryRow> page) {
+        List<Integer> ids = page.stream().map(MarksheetSummaryRow::getId).toList();
+        Map<Integer, String> subjects = new HashMap<>();
+        marksheetRepository.findSubjectsByIdIn(ids).forEach(row -> subjects.put(row.getId(), row.getSubjects()));
+        Map<Integer, List<MarksheetSubject>> subjectRows = marksheetSubjectRepository.findByMarksheetIdInOrderById(ids)
+                .stream()
+                .collect(Collectors.groupingBy(MarksheetSubject::getMarksheetId));
+        for (MarksheetSummaryRow row : page) {
+            row.setSubjects(subjects.get(row.getId()));
+            List<MarksheetSubject> marks = subjectRows.get(row.getId());
+            if (marks != null) {
+                row.setSubjectMarks(marksheetSubjectMapper.toDtos(marks));
+            }
+        }
+    }
+
+    private Marksheet.MarksheetStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Marksheet.MarksheetStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Invalid marksheet status: " + status, ServiceConstants.ERROR_CODE, "INVALID_MARKSHEET_STATUS");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 }
\ No newline at end of file
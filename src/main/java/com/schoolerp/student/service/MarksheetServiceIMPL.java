@@ -1,7 +1,12 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.dto.MarksheetListResponseDto;
 import com.schoolerp.student.dto.MarksheetRequestDto;
-import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.dto.MarksheetResponseDto;
+import com.schoolerp.student.dto.PublishMarksheetsRequestDto;
+import com.schoolerp.student.dto.RankComputationResultDto;
+import com.schoolerp.student.dto.SubjectStatsRow;
+import com.schoolerp.student.dto.SubjectTopperRow;
 
 import java.util.List;
 
@@ -12,25 +17,91 @@ import java.util.List;
 public interface MarksheetServiceIMPL {
     
     /**
-     * Retrieves all marksheets in the system
-     * 
-     * @return List of Marksheet entities
+     * Retrieves a filtered page of marksheets, newest first, using keyset pagination
+     *
+     * @param academicYear Optional academic year filter
+     * @param className Optional class filter
+     * @param section Optional section filter
+     * @param examType Optional exam type filter
+     * @param status Optional status filter (DRAFT, PUBLISHED, ARCHIVED)
+     * @param includeSubjects Whether to include the subjects text and structured subject marks
+     * @param cursor Opaque cursor from the previous page, null for the first page
+     * @param size Page size
+     * @return Page of marksheet summaries with the cursor for the next page
      */
-    List<Marksheet> getAllMarksheets();
+    MarksheetListResponseDto getMarksheets(String academicYear, String className, String section, String examType,
+                                           String status, boolean includeSubjects, String cursor, Integer size);
     
     /**
      * Creates a new marksheet for a student
      * 
      * @param requestDto Marksheet creation request data
-     * @return Marksheet entity containing created marksheet details
+     * @return Created marksheet with its subject marks
+     */
+    MarksheetResponseDto createMarksheet(MarksheetRequestDto requestDto);
+
+    /**
+     * Replaces a marksheet's details and re-ranks its cohort incrementally
+     *
+     * @param id Marksheet identifier
+     * @param requestDto Corrected marksheet data
+     * @return Updated marksheet with its recomputed rank and subject marks
+     */
+    MarksheetResponseDto updateMarksheet(Integer id, MarksheetRequestDto requestDto);
+
+    /**
+     * Recomputes dense ranks by percentage for every marksheet of a cohort
+     *
+     * @param academicYear Academic year, e.g. 2024-25
+     * @param className Class name
+     * @param section Optional section; without one only marksheets that have no section are ranked
+     * @param examType Optional exam type, matched the same way as the section
+     * @return Summary of the ranking run
+     */
+    RankComputationResultDto recomputeRanks(String academicYear, String className, String section, String examType);
+
+    /**
+     * Publishes all DRAFT marksheets of an exam cohort at once with a single set-based update
+     *
+     * @param requestDto Cohort and publish date
+     * @return Number of marksheets published
      */
-    Marksheet createMarksheet(MarksheetRequestDto requestDto);
+    int publishMarksheets(PublishMarksheetsRequestDto requestDto);
     
     /**
      * Retrieves all marksheets for a specific student
      * 
      * @param studentId Student unique identifier
-     * @return List of Marksheet entities for the student
+     * @return Marksheets of the student with their subject marks
+     */
+    List<MarksheetResponseDto> getMarksheetsByStudentId(String studentId);
+
+    /**
+     * Published marksheets of a student as a pre-encoded JSON array, served from the published results cache
+     *
+     * @param studentId Student unique identifier
+     * @return UTF-8 JSON bytes; an empty array if nothing is published
+     */
+    byte[] getPublishedMarksheetsJson(String studentId);
+
+    /**
+     * Per-subject count, average, minimum, maximum and average percentage for a cohort,
+     * aggregated by the database over the subject marks table
+     *
+     * @param academicYear Academic year, e.g. 2024-25
+     * @param examType Optional exam filter
+     * @param className Optional class filter
+     * @param section Optional section filter (only meaningful with a class)
+     * @return One row per subject, ordered by subject name
+     */
+    List<SubjectStatsRow> getSubjectStats(String academicYear, String examType, String className, String section);
+
+    /**
+     * Highest scorers of one subject in a cohort
+     *
+     * @param limit Number of toppers to return
+     * @return Toppers ordered by marks, highest first
      */
-    List<Marksheet> getMarksheetsByStudentId(String studentId);
-}
\ No newline at end of file
+    List<SubjectTopperRow> getSubjectToppers(String academicYear, String subject, String examType, String className,
+                                             String section, Integer limit);
+}
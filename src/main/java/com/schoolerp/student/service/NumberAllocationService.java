@@ -0,0 +1,61 @@
+package com.schoolerp.student.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out values from named, database-backed sequences; safe across service instances.
+ * Values are unique and increase within an instance, but instances draw from different blocks,
+ * so numbers are not globally ordered and blocks left unused at shutdown leave gaps.
+ */
+public interface NumberAllocationService {
+
+    /**
+     * Reserves {@code count} consecutive values of a sequence in its own short transaction
+     *
+     * @param sequenceName Sequence to reserve from, created on first use
+     * @param count Number of values to reserve
+     * @param initialValue Supplies the first value when the sequence does not exist yet
+     * @return First reserved value; the block is {@code [first, first + count)}
+     */
+    long reserveBlock(String sequenceName, int count, LongSupplier initialValue);
+
+    /**
+     * Next value of a sequence from the block this instance holds in memory;
+     * only goes to the database when the block is used up
+     */
+    long next(String sequenceName, LongSupplier initialValue);
+
+    /**
+     * Next admission number for the current year, e.g. {@code AD-2024-1001}
+     */
+    String nextAdmissionNumber();
+
+    /**
+     * Next ID card number for the current year, e.g. {@code ID-2024-10001}
+     */
+    String nextCardNumber();
+
+    /**
+     * ID card number for an allocated sequence value, e.g. {@code ID-2024-10001}
+     */
+    String formatCardNumber(int year, long value);
+
+    /**
+     * Reserves {@code count} ID card numbers for the given year in one round trip (batch issuance)
+     *
+     * @return First reserved sequence value, to be formatted with {@link #formatCardNumber}
+     */
+    long reserveCardNumbers(int year, int count);
+
+    /**
+     * Admission number for an allocated sequence value, e.g. {@code AD-2024-1001}
+     */
+    String formatAdmissionNumber(int year, long value);
+
+    /**
+     * Reserves {@code count} admission numbers for the given year in one round trip (bulk imports)
+     *
+     * @return First reserved sequence value, to be formatted with {@link #formatAdmissionNumber}
+     */
+    long reserveAdmissionNumbers(int year, int count);
+}
@@ -0,0 +1,184 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.entity.NumberSequence;
+import com.schoolerp.student.repository.IdCardRepository;
+import com.schoolerp.student.repository.NumberSequenceRepository;
+import com.schoolerp.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hi/lo allocation on top of the {@code number_sequences} table
+ * Each instance reserves a block of values with one locked UPDATE (in its own short transaction, so
+ * callers never hold the row lock while inserting) and then serves numbers from memory until the
+ * block is used up. Sequences are named per year, so numbering restarts with each new year.
+ */
+@Service
+@Slf4j
+public class NumberAllocationServiceImpl implements NumberAllocationService {
+
+    private static final String ADMISSION_PREFIX = "AD-";
+    private static final long FIRST_ADMISSION_VALUE = 1000;
+    private static final String CARD_PREFIX = "ID-";
+    private static final long FIRST_CARD_VALUE = 10000;
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final NumberSequenceRepository numberSequenceRepository;
+    private final StudentRepository studentRepository;
+    private final IdCardRepository idCardRepository;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Value("${app.numbers.block-size:50}")
+    private int blockSize;
+
+    public NumberAllocationServiceImpl(NumberSequenceRepository numberSequenceRepository,
+                                       StudentRepository studentRepository,
+                                       IdCardRepository idCardRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.numberSequenceRepository = numberSequenceRepository;
+        this.studentRepository = studentRepository;
+        this.idCardRepository = idCardRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Values of one reserved block still available to this instance; guarded by its own monitor
+     */
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+
+    @Override
+    public long next(String sequenceName, LongSupplier initialValue) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                long first = reserveBlock(sequenceName, blockSize, initialValue);
+                block.next = first;
+                block.end = first + blockSize;
+                log.debug("logId: {} - Reserved block [{}, {}) of sequence {}", LogContext.getLogId(), block.next, block.end, sequenceName);
+            }
+            return block.next++;
+        }
+    }
+
+    @Override
+    public long reserveBlock(String sequenceName, int count, LongSupplier initialValue) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return requiresNew.execute(tx -> reserve(sequenceName, count, initialValue));
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // Two instances creating the same sequence row collide on the key, or MySQL picks one of them as
+                // a deadlock victim (CannotAcquireLockException) on the gap locks of the missing row; the row
+                // exists or is unlocked by now, so lock and reserve again
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("logId: {} - Reserving from sequence {} failed ({}), retrying", LogContext.getLogId(),
+                          sequenceName, e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private long reserve(String sequenceName, int count, LongSupplier initialValue) {
+        NumberSequence sequence = numberSequenceRepository.findForUpdate(sequenceName).orElse(null);
+        if (sequence == null) {
+            sequence = NumberSequence.builder()
+                .name(sequenceName)
+                .nextValue(initialValue.getAsLong() + count)
+                .updatedAt(LocalDateTime.now())
+                .build();
+            numberSequenceRepository.saveAndFlush(sequence);
+            return sequence.getNextValue() - count;
+        }
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + count);
+        sequence.setUpdatedAt(LocalDateTime.now());
+        return first;
+    }
+
+    @Override
+    public String nextAdmissionNumber() {
+        int year = LocalDate.now().getYear();
+        return formatAdmissionNumber(year, next(admissionSequence(year), () -> firstFreeAdmissionValue(year)));
+    }
+
+    @Override
+    public String nextCardNumber() {
+        int year = LocalDate.now().getYear();
+        return formatCardNumber(year, next(cardSequence(year), () -> firstFreeCardValue(year)));
+    }
+
+    @Override
+    public String formatCardNumber(int year, long value) {
+        return CARD_PREFIX + year + "-" + value;
+    }
+
+    @Override
+    public long reserveCardNumbers(int year, int count) {
+        return reserveBlock(cardSequence(year), count, () -> firstFreeCardValue(year));
+    }
+
+    @Override
+    public String formatAdmissionNumber(int year, long value) {
+        return ADMISSION_PREFIX + year + "-" + value;
+    }
+
+    @Override
+    public long reserveAdmissionNumbers(int year, int count) {
+        return reserveBlock(admissionSequence(year), count, () -> firstFreeAdmissionValue(year));
+    }
+
+    private static String admissionSequence(int year) {
+        return "ADMISSION_NO:" + year;
+    }
+
+    private long firstFreeAdmissionValue(int year) {
+        String prefix = ADMISSION_PREFIX + year + "-";
+        return firstFreeValue(prefix, studentRepository.findAdmissionNosStartingWith(prefix), FIRST_ADMISSION_VALUE);
+    }
+
+    private static String cardSequence(int year) {
+        return "CARD_NO:" + year;
+    }
+
+    private long firstFreeCardValue(int year) {
+        String prefix = CARD_PREFIX + year + "-";
+        return firstFreeValue(prefix, idCardRepository.findCardNumbersStartingWith(prefix), FIRST_CARD_VALUE);
+    }
+
+    /**
+     * Starts a new sequence above every number already issued with the prefix,
+     * including the randomly generated legacy ones
+     */
+    private static long firstFreeValue(String prefix, List<String> issued, long minimum) {
+        long max = minimum - 1;
+        for (String number : issued) {
+            String suffix = number.substring(prefix.length());
+            if (!suffix.isEmpty() && suffix.length() < 19 && suffix.chars().allMatch(Character::isDigit)) {
+                max = Math.max(max, Long.parseLong(suffix));
+            }
+        }
+        return max + 1;
+    }
+}
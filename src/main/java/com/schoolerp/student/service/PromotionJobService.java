@@ -0,0 +1,37 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.BatchJobStatusDto;
+import com.schoolerp.student.dto.PromoteStudentsRequestDto;
+
+/**
+ * Interface for asynchronous student promotion jobs
+ * Promotion runs on a bounded background executor in checkpointed chunks
+ */
+public interface PromotionJobService {
+
+    /**
+     * Validates and queues a promotion job, returning immediately
+     *
+     * @param requestDto Promotion request containing student IDs and target class/section
+     * @return Initial job status including the job ID to poll
+     */
+    BatchJobStatusDto submitPromotion(PromoteStudentsRequestDto requestDto);
+
+    /**
+     * Retrieves the progress of a promotion job
+     *
+     * @param jobId Job identifier returned on submission
+     * @return Current job status with processed/failed counts and throughput
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the job does not exist
+     */
+    BatchJobStatusDto getJobStatus(String jobId);
+
+    /**
+     * Resumes a failed or interrupted job from its last checkpoint
+     *
+     * @param jobId Job identifier returned on submission
+     * @return Job status after re-queueing
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the job does not exist
+     */
+    BatchJobStatusDto resumePromotion(String jobId);
+}
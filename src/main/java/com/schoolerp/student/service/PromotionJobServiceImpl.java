@@ -0,0 +1,92 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.BatchJobStatusDto;
+import com.schoolerp.student.dto.PromoteStudentsRequestDto;
+import com.schoolerp.student.entity.BatchJob;
+import com.schoolerp.student.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class PromotionJobServiceImpl implements PromotionJobService {
+
+    private final BatchJobRunner batchJobRunner;
+    private final StudentPromotionEngine studentPromotionEngine;
+    private final ObjectMapper objectMapper;
+
+    public PromotionJobServiceImpl(BatchJobRunner batchJobRunner, StudentPromotionEngine studentPromotionEngine,
+                                   ObjectMapper objectMapper) {
+        this.batchJobRunner = batchJobRunner;
+        this.studentPromotionEngine = studentPromotionEngine;
+        this.objectMapper = objectMapper;
+        batchJobRunner.register(BatchJob.JobType.STUDENT_PROMOTION, "Promotion", this::execute);
+    }
+
+    @Override
+    public BatchJobStatusDto submitPromotion(PromoteStudentsRequestDto requestDto) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Submitting promotion job for {} students from {}-{} to {}-{}",
+                 logId, requestDto.getStudentIds().size(), requestDto.getFromClass(), requestDto.getFromSection(),
+                 requestDto.getToClass(), requestDto.getToSection());
+
+        // Fail fast on configuration problems instead of queueing a job that cannot run
+        studentPromotionEngine.resolveStatus(requestDto);
+        List<List<Integer>> chunks = studentPromotionEngine.chunk(requestDto.getStudentIds());
+
+        BatchJob job = BatchJob.builder()
+            .id(UUID.randomUUID().toString())
+            .jobType(BatchJob.JobType.STUDENT_PROMOTION)
+            .payload(toJson(requestDto))
+            .totalItems(chunks.stream().mapToInt(List::size).sum())
+            .chunkSize(studentPromotionEngine.getChunkSize())
+            .totalChunks(chunks.size())
+            .build();
+        BatchJob savedJob = batchJobRunner.submit(job);
+
+        log.info("logId: {} - Queued promotion job {} with {} chunks", logId, savedJob.getId(), savedJob.getTotalChunks());
+        return BatchJobStatusDto.from(savedJob);
+    }
+
+    @Override
+    public BatchJobStatusDto getJobStatus(String jobId) {
+        return BatchJobStatusDto.from(batchJobRunner.findJob(jobId, BatchJob.JobType.STUDENT_PROMOTION));
+    }
+
+    @Override
+    public BatchJobStatusDto resumePromotion(String jobId) {
+        String logId = LogContext.getLogId();
+        BatchJob job = batchJobRunner.resume(jobId, BatchJob.JobType.STUDENT_PROMOTION);
+        log.info("logId: {} - Resuming promotion job {} from chunk {}/{}",
+                 logId, jobId, job.getCompletedChunks(), job.getTotalChunks());
+        return BatchJobStatusDto.from(job);
+    }
+
+    private void execute(BatchJob job) throws Exception {
+        PromoteStudentsRequestDto requestDto = objectMapper.readValue(job.getPayload(), PromoteStudentsRequestDto.class);
+        Integer statusId = studentPromotionEngine.resolveStatus(requestDto);
+
+        studentPromotionEngine.promote(requestDto, statusId, job.getChunkSize(), job.getCompletedChunks(), progress -> {
+            if (progress.isFailed()) {
+                batchJobRunner.stopAtFailedChunk(job.getId(), progress.getChunkIndex(), progress.getRequested(),
+                        progress.getDurationMs(), progress.getError());
+            }
+            batchJobRunner.checkpoint(job.getId(), progress.getRequested(), progress.getNotFound(), progress.getDurationMs());
+        });
+    }
+
+    private String toJson(PromoteStudentsRequestDto requestDto) {
+        try {
+            return objectMapper.writeValueAsString(requestDto);
+        } catch (JsonProcessingException e) {
+            throw new CustomException("Unable to serialize promotion request", ServiceConstants.ERROR_CODE, e.getMessage());
+        }
+    }
+}
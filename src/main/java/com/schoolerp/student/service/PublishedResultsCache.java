@@ -0,0 +1,205 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LocalCache;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.dto.CacheStatsDto;
+import com.schoolerp.student.dto.MarksheetResponseDto;
+import com.schoolerp.student.dto.StudentMarksheetChangeRow;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
+import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Pre-encoded JSON of each student's published marksheets, keyed by studentId.
+ * On results day parents read the same few hundred bytes over and over, so a hit is served
+ * straight from the cached bytes without touching the database or Jackson.
+ * Entries are warmed in the background once a publish commits and evicted after local writes;
+ * changes made by other instances or by bulk rank updates are picked up from {@code updatedAt}.
+ * The sync overlap has to exceed the longest marksheet write transaction, as a change only becomes
+ * visible to the sync when it commits while its {@code updatedAt} is the earlier statement time.
+ */
+@Component
+@Slf4j
+public class PublishedResultsCache {
+
+    /**
+     * Encoded marksheets and the {@link System#nanoTime()} their read started
+     */
+    private record Snapshot(byte[] json, long loadedAtNanos) {
+    }
+
+    private final MarksheetRepository marksheetRepository;
+    private final MarksheetSubjectRepository marksheetSubjectRepository;
+    private final MarksheetSubjectMapper marksheetSubjectMapper;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor batchJobExecutor;
+    private final LocalCache<String, Snapshot> cache;
+
+    @Value("${app.cache.published-results.warm-batch-size:1000}")
+    private int warmBatchSize;
+
+    @Value("${app.cache.published-results.sync-overlap-seconds:30}")
+    private long syncOverlapSeconds;
+
+    private volatile LocalDateTime lastSyncedAt = LocalDateTime.now();
+
+    public PublishedResultsCache(MarksheetRepository marksheetRepository,
+                                 MarksheetSubjectRepository marksheetSubjectRepository,
+                                 MarksheetSubjectMapper marksheetSubjectMapper,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("batchJobExecutor") ThreadPoolTaskExecutor batchJobExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.cache.published-results.maximum-size:50000}") int maximumSize,
+                                 @Value("${app.cache.published-results.ttl-seconds:21600}") long ttlSeconds) {
+        this.marksheetRepository = marksheetRepository;
+        this.marksheetSubjectRepository = marksheetSubjectRepository;
+        this.marksheetSubjectMapper = marksheetSubjectMapper;
+        this.objectMapper = objectMapper;
+        this.batchJobExecutor = batchJobExecutor;
+        this.cache = new LocalCache<String, Snapshot>("published-results", maximumSize, Duration.ofSeconds(ttlSeconds))
+            .bindTo(meterRegistry);
+    }
+
+    /**
+     * JSON array of the student's published marksheets (empty array if none), loaded on a miss
+     */
+    public byte[] get(String studentId) {
+        return cache.get(studentId, id -> load(List.of(id)).get(id)).json();
+    }
+
+    /**
+     * Drops the students' entries once the surrounding transaction commits (immediately if there is none)
+     */
+    public void evictAfterCommit(Collection<String> studentIds) {
+        List<String> ids = List.copyOf(studentIds);
+        runAfterCommit(() -> ids.forEach(cache::invalidate));
+    }
+
+    /**
+     * Drops the students' entries once the surrounding transaction commits and reloads them in the background.
+     * Warming is best effort: if the job executor is saturated it is skipped and entries load on their first miss.
+     */
+    public void warmAfterCommit(Collection<String> studentIds) {
+        List<String> ids = List.copyOf(studentIds);
+        runAfterCommit(() -> {
+            ids.forEach(cache::invalidate);
+            try {
+                batchJobExecutor.execute(() -> warm(ids));
+            } catch (TaskRejectedException e) {
+                log.warn("Job executor is saturated; published results of {} students load on their first read instead", ids.size());
+            }
+        });
+    }
+
+    /**
+     * Evicts entries of students whose marksheets changed, including changes from other instances and
+     * bulk rank updates that never pass through {@link #evictAfterCommit}
+     * A change returned here committed before this sync started, so only entries whose read started after
+     * that are known to include it; every older entry of a changed student is dropped. {@code updatedAt}
+     * cannot decide this: it is the statement time on the database clock, not the commit time.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.published-results.sync-interval-ms:5000}")
+    public void syncChanges() {
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        long syncStartedNanos = System.nanoTime();
+        if (cache.size() == 0) {
+            lastSyncedAt = syncStartedAt;
+            return;
+        }
+        try {
+            List<StudentMarksheetChangeRow> changes = marksheetRepository.findStudentChangesSince(
+                    lastSyncedAt.minusSeconds(syncOverlapSeconds));
+            for (StudentMarksheetChangeRow change : changes) {
+                cache.invalidateIf(change.getStudentId(), snapshot -> snapshot.loadedAtNanos() - syncStartedNanos < 0);
+            }
+            if (!changes.isEmpty()) {
+                log.debug("Published results cache checked {} changed students", changes.size());
+            }
+            lastSyncedAt = syncStartedAt;
+        } catch (Exception e) {
+            log.warn("Published results cache sync failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public CacheStatsDto stats() {
+        return cache.stats();
+    }
+
+    private void warm(List<String> studentIds) {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        try {
+            for (int from = 0; from < studentIds.size(); from += warmBatchSize) {
+                Map<String, Snapshot> snapshots = load(studentIds.subList(from, Math.min(from + warmBatchSize, studentIds.size())));
+                snapshots.forEach(cache::put);
+                warmed += snapshots.size();
+            }
+            log.info("logId: {} - Warmed published results of {} students in {} ms",
+                     logId, warmed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("logId: {} - Warming published results stopped after {} of {} students: {}",
+                      logId, warmed, studentIds.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads and encodes the published marksheets of the given students with two IN queries
+     */
+    private Map<String, Snapshot> load(List<String> studentIds) {
+        long loadedAtNanos = System.nanoTime();
+        List<Marksheet> marksheets = marksheetRepository.findByStudentIdInAndStatusOrderById(
+                new LinkedHashSet<>(studentIds), Marksheet.MarksheetStatus.PUBLISHED);
+        List<MarksheetResponseDto> responses = marksheets.isEmpty() ? List.of() : marksheetSubjectMapper.toResponses(
+                marksheets, marksheetSubjectRepository.findByMarksheetIdInOrderById(marksheets.stream().map(Marksheet::getId).toList()));
+        Map<String, List<MarksheetResponseDto>> byStudent = responses.stream()
+                .collect(Collectors.groupingBy(response -> response.getMarksheet().getStudentId()));
+
+        Map<String, Snapshot> snapshots = new HashMap<>();
+        for (String studentId : studentIds) {
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(byStudent.getOrDefault(studentId, new ArrayList<>()));
+                snapshots.put(studentId, new Snapshot(json, loadedAtNanos));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to encode marksheets of student " + studentId, e);
+            }
+        }
+        return snapshots;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,10 +1,71 @@
 package com.schoolerp.student.service;
 
 
+import com.schoolerp.student.dto.PresignedUrlDto;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
 
 public interface S3Service {
     String uploadFile(MultipartFile file);
-    byte[] downloadFile(String fileName);
+    /**
+     * Opens the object for reading; the caller must close the stream
+     */
+    InputStream downloadFile(String fileName);
     String deleteFile(String fileName);
+
+    /**
+     * Streams an object to S3; content larger than the multipart threshold is sent as a multipart upload
+     *
+     * @param key Object key
+     * @param contentType Content type stored with the object
+     * @param content Object content, read once and not closed
+     * @param size Exact content length in bytes
+     */
+    void putObject(String key, String contentType, InputStream content, long size);
+
+    /**
+     * Deletes the objects with batched DeleteObjects calls (up to 1000 keys per call)
+     *
+     * @return Number of keys S3 reported as deleted
+     */
+    int deleteObjects(Collection<String> keys);
+
+    /**
+     * Opens an object for streaming without buffering it
+     *
+     * @param key Object key
+     * @param range Optional single HTTP byte range, e.g. {@code bytes=0-1023}
+     * @param ifNoneMatch Optional ETag; S3 answers 304 (as an S3Exception) when it still matches
+     * @return Open stream plus object metadata; the caller must close it
+     */
+    ResponseInputStream<GetObjectResponse> openObject(String key, String range, String ifNoneMatch);
+
+    /**
+     * Presigned PUT for uploading an object directly to S3
+     *
+     * @param contentLength Optional exact size; when given S3 rejects a body of any other size
+     */
+    PresignedUrlDto presignPut(String key, String contentType, Long contentLength, Duration ttl);
+
+    /**
+     * Presigned GET that downloads the object as an attachment with the given file name
+     */
+    PresignedUrlDto presignGet(String key, String fileName, Duration ttl);
+
+    /**
+     * Object metadata, or empty if the object does not exist
+     */
+    Optional<HeadObjectResponse> headObject(String key);
+
+    /**
+     * Public URL of an object in the configured bucket
+     */
+    String objectUrl(String key);
 }
@@ -1,28 +1,63 @@
 package com.schoolerp.student.service;
 
 
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.dto.PresignedUrlDto;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.awscore.presigner.PresignedRequest;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Slf4j
 public class S3ServiceImpl implements S3Service {
 
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final int MAX_DELETE_BATCH = 1000;
+
     @Autowired
     private final S3Client s3Client;
+    @Autowired
+    private final S3Presigner s3Presigner;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
-    public S3ServiceImpl(S3Client s3Client) {
+    @Value("${app.s3.multipart.threshold-bytes:16777216}")
+    private long multipartThreshold;
+
+    @Value("${app.s3.multipart.part-size-bytes:8388608}")
+    private int partSize;
+
+    public S3ServiceImpl(S3Client s3Client, S3Presigner s3Presigner) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
     }
 
     @Override
@@ -42,16 +77,14 @@ public class S3ServiceImpl implements S3Service {
     }
 
     @Override
-    public byte[] downloadFile(String fileName) {
+    public InputStream downloadFile(String fileName) {
         GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                 .bucket(bucketName)
                 .key(fileName)
                 .build();
 
-        ResponseBytes<GetObjectResponse> objectBytes =
-                s3Client.getObjectAsBytes(getObjectRequest);
-
-        return objectBytes.asByteArray();
+        // Streamed from the connection, so the object is never held in memory as a whole
+        return s3Client.getObject(getObjectRequest);
     }
 
     @Override
@@ -65,4 +98,159 @@ public class S3ServiceImpl implements S3Service {
 
         return "File deleted: " + fileName;
     }
+
+    @Override
+    public void putObject(String key, String contentType, InputStream content, long size) {
+        if (size > multipartThreshold) {
+            putMultipart(key, contentType, content);
+            return;
+        }
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build(),
+                RequestBody.fromInputStream(content, size));
+    }
+
+    /**
+     * Uploads the content in parts of {@code partSize} bytes, so only one part is buffered at a time;
+     * the upload is aborted if any part fails, leaving no orphaned parts behind
+     */
+    private void putMultipart(String key, String contentType, InputStream content) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[Math.max(partSize, MIN_PART_SIZE)];
+            int partNumber = 1;
+            int read;
+            while ((read = content.readNBytes(buffer, 0, buffer.length)) > 0) {
+                UploadPartResponse part = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) read)
+                                .build(),
+                        RequestBody.fromBytes(read == buffer.length ? buffer : Arrays.copyOf(buffer, read)));
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(part.eTag()).build());
+                partNumber++;
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            throw e instanceof RuntimeException runtime ? runtime : new UncheckedIOException((IOException) e);
+        }
+    }
+
+    @Override
+    public int deleteObjects(Collection<String> keys) {
+        List<String> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        int deleted = 0;
+        for (int from = 0; from < distinctKeys.size(); from += MAX_DELETE_BATCH) {
+            List<ObjectIdentifier> batch = distinctKeys.subList(from, Math.min(from + MAX_DELETE_BATCH, distinctKeys.size()))
+                    .stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder().objects(batch).quiet(false).build())
+                    .build());
+            deleted += response.deleted().size();
+            if (response.hasErrors() && !response.errors().isEmpty()) {
+                log.warn("logId: {} - S3 DeleteObjects reported {} errors, first: {} ({})", LogContext.getLogId(),
+                         response.errors().size(), response.errors().get(0).key(), response.errors().get(0).message());
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> openObject(String key, String range, String ifNoneMatch) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range(range)
+                .ifNoneMatch(ifNoneMatch)
+                .build());
+    }
+
+    @Override
+    public PresignedUrlDto presignPut(String key, String contentType, Long contentLength, Duration ttl) {
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(contentLength)
+                        .build())
+                .build());
+        return toDto(key, presigned);
+    }
+
+    @Override
+    public PresignedUrlDto presignGet(String key, String fileName, Duration ttl) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .responseContentDisposition(ContentDisposition.attachment()
+                                .filename(fileName, StandardCharsets.UTF_8)
+                                .build().toString())
+                        .build())
+                .build());
+        return toDto(key, presigned);
+    }
+
+    private static PresignedUrlDto toDto(String key, PresignedRequest presigned) {
+        // Host is implied by the URL; everything else signed must be sent by the client as-is
+        Map<String, List<String>> headers = new LinkedHashMap<>(presigned.signedHeaders());
+        headers.keySet().removeIf("host"::equalsIgnoreCase);
+        return PresignedUrlDto.builder()
+                .key(key)
+                .method(presigned.httpRequest().method().name())
+                .url(presigned.url().toString())
+                .headers(headers)
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    @Override
+    public Optional<HeadObjectResponse> headObject(String key) {
+        try {
+            return Optional.of(s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String objectUrl(String key) {
+        // Built by the client itself so the URL follows the configured region, endpoint override and path-style setting
+        return s3Client.utilities().getUrl(GetUrlRequest.builder().bucket(bucketName).key(key).build()).toExternalForm();
+    }
 }
@@ -1,5 +1,10 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.dto.BulkDeleteDocumentsRequestDto;
+import com.schoolerp.student.dto.CompleteUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUrlDto;
+import com.schoolerp.student.dto.StudentDocumentDownload;
 import com.schoolerp.student.dto.StudentDocumentRequest;
 import com.schoolerp.student.entity.StudentDocument;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,4 +16,41 @@ public interface StudentDocumentService {
     List<StudentDocument> uploadStudentDocuments(List<StudentDocumentRequest> requests) throws IOException;
 
     void deleteStudentDocument(Integer documentId);
+
+    /**
+     * Soft-deletes documents by id or all documents of a student with a single UPDATE;
+     * the files are removed from S3 later by the purge job
+     *
+     * @return number of documents deleted
+     * @throws com.schoolerp.student.exception.CustomException unless exactly one of ids or student is given
+     */
+    int deleteStudentDocuments(BulkDeleteDocumentsRequestDto request);
+
+    /**
+     * Opens a document for streaming download, honouring a single byte range and If-None-Match
+     *
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the document does not exist
+     */
+    StudentDocumentDownload openDocument(Integer documentId, String range, String ifNoneMatch);
+
+    /**
+     * Issues a short-lived presigned PUT URL for a new document of the student, under {@code students/{id}/}
+     *
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the student does not exist
+     */
+    PresignedUrlDto presignUpload(PresignedUploadRequestDto request);
+
+    /**
+     * Registers a document the client uploaded with a presigned URL; idempotent per key
+     *
+     * @throws com.schoolerp.student.exception.CustomException if the key is outside the student's prefix or nothing was uploaded
+     */
+    StudentDocument completeUpload(CompleteUploadRequestDto request);
+
+    /**
+     * Issues a short-lived presigned GET URL for an existing document
+     *
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if the document does not exist
+     */
+    PresignedUrlDto presignDownload(Integer documentId);
 }
@@ -1,81 +1,504 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.BulkDeleteDocumentsRequestDto;
+import com.schoolerp.student.dto.CompleteUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUploadRequestDto;
+import com.schoolerp.student.dto.PresignedUrlDto;
+import com.schoolerp.student.dto.StudentDocumentDownload;
 import com.schoolerp.student.dto.StudentDocumentRequest;
 import com.schoolerp.student.entity.StudentDocument;
+import com.schoolerp.student.entity.StudentDocumentContent;
+import com.schoolerp.student.exception.CustomException;
+import com.schoolerp.student.exception.ResourceNotFoundException;
+import com.schoolerp.student.repository.StudentDocumentContentRepository;
 import com.schoolerp.student.repository.StudentDocumentRepository;
+import com.schoolerp.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class StudentDocumentServiceImpl implements StudentDocumentService {
 
+    private static final String CONTENT_KEY_PREFIX = "documents/sha256/";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
     @Autowired
-    private final S3Client s3Client;
+    private final S3Service s3Service;
     @Autowired
     private final StudentDocumentRepository repository;
+    @Autowired
+    private final StudentDocumentContentRepository contentRepository;
+
+    private final StudentRepository studentRepository;
+    private final DocumentPreviewService documentPreviewService;
+    private final ThreadPoolTaskExecutor documentUploadExecutor;
+    private final TransactionTemplate transactionTemplate;
 
-    private final String bucketName = "erp-school-management";
+    @Value("${app.documents.max-size-bytes:52428800}")
+    private long maxDocumentSize;
 
-    public StudentDocumentServiceImpl(S3Client s3Client, StudentDocumentRepository repository) {
-        this.s3Client = s3Client;
+    @Value("${app.documents.presign.upload-ttl-seconds:900}")
+    private long uploadUrlTtlSeconds;
+
+    @Value("${app.documents.presign.download-ttl-seconds:300}")
+    private long downloadUrlTtlSeconds;
+
+    public StudentDocumentServiceImpl(S3Service s3Service, StudentDocumentRepository repository,
+                                      StudentDocumentContentRepository contentRepository,
+                                      StudentRepository studentRepository,
+                                      DocumentPreviewService documentPreviewService,
+                                      @Qualifier("documentUploadExecutor") ThreadPoolTaskExecutor documentUploadExecutor,
+                                      PlatformTransactionManager transactionManager) {
+        this.s3Service = s3Service;
         this.repository = repository;
+        this.contentRepository = contentRepository;
+        this.studentRepository = studentRepository;
+        this.documentPreviewService = documentPreviewService;
+        this.documentUploadExecutor = documentUploadExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Stores a packet of documents content-addressed. Files are hashed (SHA-256) in parallel, and only
+     * content not stored yet is uploaded to S3, again in parallel and bounded by the upload executor;
+     * retried or duplicate files skip the PUT. The document rows and content reference counts are then
+     * written in one transaction, with no S3 call made while the content rows are locked. Every upload
+     * goes to a fresh key, so it can never overwrite (or be deleted as) an object a content row already
+     * points at. Objects uploaded by this call that end up referenced by no content row, because the call
+     * failed or a concurrent one registered the same content first, are deleted again.
+     */
+    @Override
+    public List<StudentDocument> uploadStudentDocuments(List<StudentDocumentRequest> requests) throws IOException {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+
+        // Validate the whole packet before anything is uploaded
+        for (StudentDocumentRequest req : requests) {
+            if (req.getStudentId() == null) {
+                throw new IllegalArgumentException("studentId is required for the document");
+            }
+            if (req.getFile() == null || req.getFile().isEmpty()) {
+                throw new IllegalArgumentException("File is required for each document upload");
+            }
+        }
+        log.info("logId: {} - Uploading {} documents", logId, requests.size());
+
+        // 1. Hash every file; the multipart parts are already local, so this costs no network round trip
+        List<HashedFile> hashed = awaitAll(requests.stream()
+                .map(req -> CompletableFuture.supplyAsync(() -> hash(req), documentUploadExecutor))
+                .toList());
+
+        // 2. Upload each distinct content that is not stored yet
+        Map<String, HashedFile> distinct = new LinkedHashMap<>();
+        hashed.forEach(file -> distinct.putIfAbsent(file.hash(), file));
+        Set<String> stored = contentRepository.findAllById(distinct.keySet()).stream()
+                .map(StudentDocumentContent::getContentHash)
+                .collect(Collectors.toSet());
+        List<HashedFile> toUpload = distinct.values().stream().filter(file -> !stored.contains(file.hash())).toList();
+
+        Map<String, String> uploadedKeys = new ConcurrentHashMap<>();
+        try {
+            awaitAll(toUpload.stream()
+                    .map(file -> CompletableFuture.runAsync(() -> uploadedKeys.put(file.hash(), upload(file)), documentUploadExecutor))
+                    .toList());
+        } catch (RuntimeException | IOException e) {
+            log.error("logId: {} - Document upload failed, removing {} uploaded objects: {}", logId, uploadedKeys.size(), e.getMessage());
+            removeUnreferenced(uploadedKeys);
+            throw e;
+        }
+
+        // 3. Document rows and reference counts in one transaction
+        List<StudentDocument> documents = hashed.stream().map(this::toDocument).toList();
+        try {
+            List<StudentDocument> saved = saveWithReferences(documents, distinct, uploadedKeys);
+            removeUnreferenced(uploadedKeys);
+            documentPreviewService.enqueue(saved.stream().map(StudentDocument::getId).toList());
+            log.info("logId: {} - Saved {} documents ({} new contents uploaded, {} deduplicated) in {} ms", logId,
+                     saved.size(), toUpload.size(), hashed.size() - toUpload.size(), System.currentTimeMillis() - start);
+            return saved;
+        } catch (RuntimeException e) {
+            log.error("logId: {} - Saving document rows failed, removing {} uploaded objects: {}", logId, uploadedKeys.size(), e.getMessage(), e);
+            removeUnreferenced(uploadedKeys);
+            throw e;
+        }
+    }
+
+    private record HashedFile(StudentDocumentRequest request, String hash, long size) {
+    }
+
+    private HashedFile hash(StudentDocumentRequest req) {
+        try (InputStream content = req.getFile().getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+            return new HashedFile(req, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-        @Override
-        public List<StudentDocument> uploadStudentDocuments(List<StudentDocumentRequest> requests) throws IOException {
-            List<StudentDocument> result = new ArrayList<>();
+    /**
+     * Stores the file under a new key and returns it
+     */
+    private String upload(HashedFile file) {
+        String key = newContentKey(file.hash());
+        MultipartFile multipart = file.request().getFile();
+        try (InputStream content = multipart.getInputStream()) {
+            s3Service.putObject(key, multipart.getContentType(), content, file.size());
+            return key;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            for (StudentDocumentRequest req : requests) {
-                MultipartFile file = req.getFile();
-                Integer studentId = req.getStudentId() != null ? req.getStudentId().intValue() : null;
+    /**
+     * Document row without its key yet; the key is taken from the content row when the references are saved
+     */
+    private StudentDocument toDocument(HashedFile file) {
+        StudentDocument doc = new StudentDocument();
+        doc.setStudentId(file.request().getStudentId().intValue());
+        doc.setDocumentType(file.request().getDocumentType());
+        doc.setContentHash(file.hash());
+        doc.setDocumentName(file.request().getFile().getOriginalFilename());
+        doc.setPreviewStatus(StudentDocument.PreviewStatus.PENDING);
+        return doc;
+    }
 
-                if (studentId == null) {
-                    throw new IllegalArgumentException("studentId is required for the document");
+    /**
+     * Inserts the documents and adds their references to the content rows, creating rows for new content.
+     * Retried if another request created one of the content rows concurrently, or if content whose upload
+     * was skipped has been purged in the meantime; that content is uploaded again first, outside the transaction.
+     */
+    private List<StudentDocument> saveWithReferences(List<StudentDocument> documents, Map<String, HashedFile> contents,
+                                                     Map<String, String> uploadedKeys) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> saveReferences(documents, contents, uploadedKeys));
+            } catch (ContentPurgedException e) {
+                if (attempt >= MAX_SAVE_ATTEMPTS) {
+                    throw e;
                 }
-                if (file == null || file.isEmpty()) {
-                    throw new IllegalArgumentException("File is required for each document upload");
+                log.debug("logId: {} - {} contents purged since the upload was skipped, storing them again",
+                          LogContext.getLogId(), e.getHashes().size());
+                e.getHashes().forEach(hash -> uploadedKeys.put(hash, upload(contents.get(hash))));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_SAVE_ATTEMPTS) {
+                    throw e;
                 }
+                log.debug("logId: {} - Content row created concurrently, retrying", LogContext.getLogId());
+            }
+        }
+    }
 
-                String key = "students/" + studentId + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
-
-                try {
-                    s3Client.putObject(
-                            PutObjectRequest.builder()
-                                    .bucket(bucketName)
-                                    .key(key)
-                                    .contentType(file.getContentType())
-                                    .build(),
-                            RequestBody.fromInputStream(file.getInputStream(), file.getSize())
-                    );
-                } catch (S3Exception e) {
-                    throw new RuntimeException("S3 Upload failed: " + e.awsErrorDetails().errorMessage(), e);
+    private List<StudentDocument> saveReferences(List<StudentDocument> documents, Map<String, HashedFile> contents,
+                                                 Map<String, String> uploadedKeys) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> references = documents.stream()
+                .collect(Collectors.groupingBy(StudentDocument::getContentHash, Collectors.counting()));
+        Map<String, StudentDocumentContent> rows = contentRepository.findAllForUpdate(references.keySet()).stream()
+                .collect(Collectors.toMap(StudentDocumentContent::getContentHash, Function.identity()));
+
+        List<StudentDocumentContent> changed = new ArrayList<>(references.size());
+        List<String> purged = new ArrayList<>();
+        references.forEach((hash, count) -> {
+            StudentDocumentContent row = rows.get(hash);
+            if (row == null) {
+                String key = uploadedKeys.get(hash);
+                if (key == null) {
+                    // The content existed when the upload was skipped but has been purged since
+                    purged.add(hash);
+                    return;
                 }
+                HashedFile file = contents.get(hash);
+                row = StudentDocumentContent.builder()
+                        .contentHash(hash)
+                        .s3Key(key)
+                        .sizeBytes(file.size())
+                        .contentType(file.request().getFile().getContentType())
+                        .refCount(0)
+                        .createdAt(now)
+                        .build();
+            }
+            row.setRefCount(row.getRefCount() + count.intValue());
+            row.setUpdatedAt(now);
+            changed.add(row);
+        });
+        if (!purged.isEmpty()) {
+            throw new ContentPurgedException(purged);
+        }
+        contentRepository.saveAll(changed);
+        contentRepository.flush();
 
-                String s3Url = "https://" + bucketName + ".s3.amazonaws.com/" + key;
+        Map<String, String> keys = changed.stream()
+                .collect(Collectors.toMap(StudentDocumentContent::getContentHash, StudentDocumentContent::getS3Key));
+        for (StudentDocument doc : documents) {
+            doc.setS3Key(keys.get(doc.getContentHash()));
+            doc.setS3Url(s3Service.objectUrl(doc.getS3Key()));
+        }
+        // Document ids come from the pooled sequence, so the rows go out as one JDBC batch
+        return repository.saveAll(documents);
+    }
 
-                StudentDocument doc = new StudentDocument();
-                doc.setStudentId(studentId);
-                doc.setDocumentType(req.getDocumentType());
-                doc.setS3Key(key);
-                doc.setS3Url(s3Url);
-                doc.setDocumentName(file.getOriginalFilename());
+    /**
+     * Key for a new upload of the content: the hash plus a random suffix, so every PUT writes an object no row
+     * references yet, and the purge can delete a released key without racing a concurrent upload of the same file
+     */
+    private static String newContentKey(String hash) {
+        return CONTENT_KEY_PREFIX + hash + "/" + UUID.randomUUID();
+    }
 
-                result.add(repository.save(doc));
+    /**
+     * Raised inside the save transaction, rolling it back, when content whose upload was skipped has no row any more
+     */
+    private static class ContentPurgedException extends RuntimeException {
+        private final List<String> hashes;
+
+        ContentPurgedException(List<String> hashes) {
+            super("Stored content purged concurrently: " + hashes);
+            this.hashes = hashes;
+        }
+
+        List<String> getHashes() {
+            return hashes;
+        }
+    }
+
+    /**
+     * Waits for every task and rethrows the first failure once all have finished,
+     * so compensation never races with uploads that are still running
+     */
+    private static <T> List<T> awaitAll(List<CompletableFuture<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        Throwable failure = null;
+        for (CompletableFuture<T> task : tasks) {
+            try {
+                results.add(task.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
             }
+        }
+        if (failure == null) {
+            return results;
+        }
+        if (failure instanceof UncheckedIOException io) {
+            throw io.getCause();
+        }
+        if (failure instanceof S3Exception s3) {
+            throw new RuntimeException("S3 Upload failed: " + s3.awsErrorDetails().errorMessage(), s3);
+        }
+        throw failure instanceof RuntimeException runtime ? runtime : new RuntimeException(failure);
+    }
 
-            return result;
+    /**
+     * Deletes the objects uploaded by this call that no content row points at, i.e. the call failed
+     * or a concurrent upload registered the same content under its own key first.
+     * The content rows are checked under the same row locks the save takes, so a save still in flight
+     * is waited for; the objects themselves are deleted after the locks are released.
+     */
+    private void removeUnreferenced(Map<String, String> uploadedKeys) {
+        if (uploadedKeys.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> orphaned = transactionTemplate.execute(tx -> {
+                Map<String, String> referenced = contentRepository.findAllForUpdate(uploadedKeys.keySet()).stream()
+                        .collect(Collectors.toMap(StudentDocumentContent::getContentHash, StudentDocumentContent::getS3Key));
+                return uploadedKeys.entrySet().stream()
+                        .filter(upload -> !upload.getValue().equals(referenced.get(upload.getKey())))
+                        .map(Map.Entry::getValue)
+                        .toList();
+            });
+            if (!orphaned.isEmpty()) {
+                s3Service.deleteObjects(orphaned);
+            }
+        } catch (Exception e) {
+            log.error("logId: {} - Failed to remove orphaned S3 objects {}: {}", LogContext.getLogId(), uploadedKeys.values(), e.getMessage(), e);
         }
+    }
+
+    @Override
+    public StudentDocumentDownload openDocument(Integer documentId, String range, String ifNoneMatch) {
+        StudentDocument doc = repository.findByIdAndIsDeletedFalse(documentId);
+        if (doc == null || doc.getS3Key() == null) {
+            throw new ResourceNotFoundException("Document not found with id: " + documentId);
+        }
+
+        // S3 serves a single range only; anything else is answered with the full object, as HTTP allows
+        String singleRange = range != null && range.startsWith("bytes=") && range.indexOf(',') < 0 ? range : null;
+        try {
+            ResponseInputStream<GetObjectResponse> object = s3Service.openObject(doc.getS3Key(), singleRange, ifNoneMatch);
+            GetObjectResponse response = object.response();
+            return StudentDocumentDownload.builder()
+                .status(response.contentRange() != null ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value())
+                .fileName(doc.getDocumentName())
+                .contentType(response.contentType())
+                .contentLength(response.contentLength())
+                .contentRange(response.contentRange())
+                .eTag(response.eTag())
+                .content(object)
+                .build();
+        } catch (S3Exception e) {
+            if (e.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                // If-None-Match may list several tags or "*"; answer with the object's own ETag
+                String eTag = e.awsErrorDetails() != null
+                    ? e.awsErrorDetails().sdkHttpResponse().firstMatchingHeader(HttpHeaders.ETAG).orElse(null)
+                    : null;
+                if (eTag == null) {
+                    eTag = s3Service.headObject(doc.getS3Key()).map(HeadObjectResponse::eTag).orElse(null);
+                }
+                return StudentDocumentDownload.builder()
+                    .status(e.statusCode())
+                    .fileName(doc.getDocumentName())
+                    .eTag(eTag)
+                    .build();
+            }
+            if (e.statusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                HeadObjectResponse head = s3Service.headObject(doc.getS3Key())
+                    .orElseThrow(() -> new ResourceNotFoundException("Stored file missing for document id: " + documentId));
+                return StudentDocumentDownload.builder()
+                    .status(e.statusCode())
+                    .fileName(doc.getDocumentName())
+                    .contentRange("bytes */" + head.contentLength())
+                    .eTag(head.eTag())
+                    .build();
+            }
+            if (e.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new ResourceNotFoundException("Stored file missing for document id: " + documentId);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public PresignedUrlDto presignUpload(PresignedUploadRequestDto request) {
+        String logId = LogContext.getLogId();
+        if (!studentRepository.existsByIdAndIsDeletedFalse(request.getStudentId())) {
+            throw new ResourceNotFoundException("Student not found with id: " + request.getStudentId());
+        }
+        if (request.getContentLength() != null && request.getContentLength() > maxDocumentSize) {
+            throw new CustomException("Document exceeds the maximum size of " + maxDocumentSize + " bytes",
+                    ServiceConstants.ERROR_CODE, "DOCUMENT_TOO_LARGE");
+        }
+
+        String key = studentPrefix(request.getStudentId()) + UUID.randomUUID() + "_" + safeFileName(request.getFileName());
+        PresignedUrlDto url = s3Service.presignPut(key, request.getContentType(), request.getContentLength(), Duration.ofSeconds(uploadUrlTtlSeconds));
+        log.info("logId: {} - Issued presigned upload for student {}: {}", logId, request.getStudentId(), key);
+        return url;
+    }
+
+    @Override
+    public StudentDocument completeUpload(CompleteUploadRequestDto request) {
+        String logId = LogContext.getLogId();
+        String key = request.getKey();
+        if (!key.startsWith(studentPrefix(request.getStudentId())) || key.contains("..")) {
+            throw new CustomException("Key does not belong to student " + request.getStudentId(),
+                    ServiceConstants.ERROR_CODE, "INVALID_DOCUMENT_KEY");
+        }
+
+        // A retried callback returns the row registered by the first one
+        Optional<StudentDocument> existing = repository.findFirstByS3KeyAndIsDeletedFalse(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        HeadObjectResponse object = s3Service.headObject(key)
+                .orElseThrow(() -> new CustomException("No uploaded object found for key: " + key,
+                        ServiceConstants.ERROR_CODE, "UPLOAD_NOT_FOUND"));
+        if (object.contentLength() != null && object.contentLength() > maxDocumentSize) {
+            s3Service.deleteObjects(List.of(key));
+            throw new CustomException("Document exceeds the maximum size of " + maxDocumentSize + " bytes",
+                    ServiceConstants.ERROR_CODE, "DOCUMENT_TOO_LARGE");
+        }
+
+        String storedName = key.substring(key.lastIndexOf('/') + 1);
+        String originalName = storedName.indexOf('_') > 0 ? storedName.substring(storedName.indexOf('_') + 1) : storedName;
+
+        StudentDocument doc = new StudentDocument();
+        doc.setStudentId(request.getStudentId());
+        doc.setDocumentType(request.getDocumentType());
+        doc.setS3Key(key);
+        doc.setS3Url(s3Service.objectUrl(key));
+        doc.setDocumentName(request.getDocumentName() != null && !request.getDocumentName().isBlank()
+                ? request.getDocumentName() : originalName);
+        doc.setPreviewStatus(StudentDocument.PreviewStatus.PENDING);
+        StudentDocument saved = repository.save(doc);
+        documentPreviewService.enqueue(List.of(saved.getId()));
+        log.info("logId: {} - Registered directly uploaded document {} ({} bytes) for student {}",
+                 logId, saved.getId(), object.contentLength(), request.getStudentId());
+        return saved;
+    }
+
+    @Override
+    public PresignedUrlDto presignDownload(Integer documentId) {
+        StudentDocument doc = repository.findByIdAndIsDeletedFalse(documentId);
+        if (doc == null || doc.getS3Key() == null) {
+            throw new ResourceNotFoundException("Document not found with id: " + documentId);
+        }
+        String fileName = doc.getDocumentName() != null ? doc.getDocumentName() : "document-" + documentId;
+        return s3Service.presignGet(doc.getS3Key(), fileName, Duration.ofSeconds(downloadUrlTtlSeconds));
+    }
+
+    private static String studentPrefix(Integer studentId) {
+        return "students/" + studentId + "/";
+    }
+
+    /**
+     * Keeps only the last path segment and replaces characters that are awkward in object keys
+     */
+    private static String safeFileName(String fileName) {
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isBlank() || name.chars().allMatch(c -> c == '.') ? "document" : name;
+    }
 
     @Override
     public void deleteStudentDocument(Integer documentId) {
@@ -84,12 +507,27 @@ public class StudentDocumentServiceImpl implements StudentDocumentService {
             throw new IllegalArgumentException("Document not found with id: " + documentId);
         }
         doc.setDeleted(true);
+        doc.setDeletedAt(LocalDateTime.now());
         repository.save(doc);
     }
 
+    @Override
+    public int deleteStudentDocuments(BulkDeleteDocumentsRequestDto request) {
+        String logId = LogContext.getLogId();
+        boolean byIds = request.getDocumentIds() != null && !request.getDocumentIds().isEmpty();
+        if (byIds == (request.getStudentId() != null)) {
+            throw new CustomException("Provide either documentIds or studentId",
+                    ServiceConstants.ERROR_CODE, "INVALID_BULK_DELETE_REQUEST");
+        }
 
-
+        int deleted = byIds
+                ? repository.softDeleteByIdIn(request.getDocumentIds().stream().filter(Objects::nonNull).collect(Collectors.toSet()),
+                                             LocalDateTime.now())
+                : repository.softDeleteByStudentId(request.getStudentId(), LocalDateTime.now());
+        log.info("logId: {} - Soft-deleted {} documents ({})", logId, deleted,
+                 byIds ? request.getDocumentIds().size() + " ids requested" : "student " + request.getStudentId());
+        return deleted;
+    }
 
 
 }
-
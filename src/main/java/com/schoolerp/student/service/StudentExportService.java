@@ -0,0 +1,24 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming export of the student roster
+ */
+public interface StudentExportService {
+
+    /**
+     * Writes every active student matching the filters to the output stream, one row at a time
+     *
+     * @param format Output format (NDJSON or CSV)
+     * @param status Optional status filter
+     * @param classFilter Optional class filter
+     * @param outputStream Destination stream; flushed but not closed
+     * @return Number of students written
+     * @throws IOException if writing to the stream fails, e.g. the client disconnected
+     */
+    long exportStudents(ExportFormat format, Integer status, Integer classFilter, OutputStream outputStream) throws IOException;
+}
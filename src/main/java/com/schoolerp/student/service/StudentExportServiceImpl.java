@@ -0,0 +1,127 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.dto.ExportFormat;
+import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.mapper.StudentMapper;
+import com.schoolerp.student.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Exports students from a forward-only cursor straight into the response stream.
+ * Each entity is detached as soon as it is written, so heap use stays constant regardless of roster size.
+ */
+@Service
+@Slf4j
+public class StudentExportServiceImpl implements StudentExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String[] CSV_HEADER = {
+        "id", "admissionNo", "admissionDate", "firstName", "middleName", "lastName", "dateOfBirth", "gender",
+        "mobileNumber", "emailId", "fatherName", "motherName", "guardianName", "city", "state", "pincode",
+        "classApplyingFor", "section", "academicYear", "status", "feesStatus", "createdAt", "updatedAt"
+    };
+
+    private final StudentRepository studentRepository;
+    private final StudentMapper studentMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public StudentExportServiceImpl(StudentRepository studentRepository, StudentMapper studentMapper,
+                                    ObjectMapper objectMapper, EntityManager entityManager) {
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportStudents(ExportFormat format, Integer status, Integer classFilter, OutputStream outputStream) throws IOException {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting student export, format: {}, status: {}, class: {}", logId, format, status, classFilter);
+        long start = System.currentTimeMillis();
+        long written = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        try (Stream<Student> students = studentRepository.streamForExport(status, classFilter)) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, CSV_HEADER);
+            }
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, csvValues(student));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(studentMapper.toDto(student)));
+                    writer.write('\n');
+                }
+                entityManager.detach(student);
+                written++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("logId: {} - Student export aborted after {} rows: {}", logId, written, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("logId: {} - Error exporting students after {} rows: {}", logId, written, e.getMessage(), e);
+            throw e;
+        }
+
+        log.info("logId: {} - Exported {} students in {} ms", logId, written, System.currentTimeMillis() - start);
+        return written;
+    }
+
+    private static String[] csvValues(Student student) {
+        return new String[] {
+            str(student.getId()), student.getAdmissionNo(), str(student.getAdmissionDate()), student.getFirstName(),
+            student.getMiddleName(), student.getLastName(), str(student.getDateOfBirth()), student.getGender(),
+            student.getMobileNumber(), student.getEmailId(), student.getFatherName(), student.getMotherName(),
+            student.getGuardianName(), student.getCity(), student.getState(), student.getPincode(),
+            str(student.getClassApplyingFor()), str(student.getSection()), str(student.getAcademicYear()),
+            str(student.getStatus()), str(student.getFeesStatus()), str(student.getCreatedAt()), str(student.getUpdatedAt())
+        };
+    }
+
+    private static String str(Object value) {
+        return Objects.toString(value, null);
+    }
+
+    /**
+     * Writes one RFC 4180 row; values containing separators, quotes or line breaks are quoted
+     */
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,22 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.dto.StudentImportResultDto;
+
+import java.io.InputStream;
+
+/**
+ * Bulk creation of students from uploaded files
+ */
+public interface StudentImportService {
+
+    /**
+     * Imports students from a JSON array, NDJSON or CSV stream in chunks.
+     * Valid rows are committed chunk by chunk; invalid rows are reported and skipped.
+     *
+     * @param inputStream Payload, read incrementally
+     * @param format Payload format
+     * @return Counts and a per-row error report
+     */
+    StudentImportResultDto importStudents(InputStream inputStream, ImportFormat format);
+}
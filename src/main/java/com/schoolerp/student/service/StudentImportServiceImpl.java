@@ -0,0 +1,209 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.dto.StudentImportResultDto;
+import com.schoolerp.student.dto.StudentRequestDto;
+import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.mapper.StudentMapper;
+import com.schoolerp.student.repository.StudentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chunked bulk import: rows are read incrementally, validated in parallel, checked for duplicate
+ * admission numbers with one IN query per chunk, given admission numbers from a reserved block and
+ * inserted with JDBC batching in one transaction per chunk. If a chunk's batch insert fails, its rows
+ * are retried one by one so the error report pinpoints the offending rows.
+ */
+@Service
+@Slf4j
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private final StudentRepository studentRepository;
+    private final StudentMapper studentMapper;
+    private final StudentSearchIndex studentSearchIndex;
+    private final NumberAllocationService numberAllocationService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    public StudentImportServiceImpl(StudentRepository studentRepository, StudentMapper studentMapper,
+                                    StudentSearchIndex studentSearchIndex, NumberAllocationService numberAllocationService,
+                                    Validator validator, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        this.studentSearchIndex = studentSearchIndex;
+        this.numberAllocationService = numberAllocationService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public StudentImportResultDto importStudents(InputStream inputStream, ImportFormat format) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting student import, format: {}, chunk size: {}", logId, format, chunkSize);
+        long start = System.currentTimeMillis();
+
+        StudentImportResultDto result = StudentImportResultDto.builder().build();
+        ResultReport report = new ResultReport(result);
+        ImportChunkDriver<StudentRequestDto> driver = new ImportChunkDriver<>(transactionTemplate, report);
+        Set<String> seenAdmissionNos = new HashSet<>();
+        driver.run(inputStream, format, StudentRequestDto.class, objectMapper, chunkSize,
+                   chunk -> importChunk(chunk, seenAdmissionNos, driver, report));
+
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("logId: {} - Student import finished: {} rows, {} imported, {} failed in {} ms",
+                 logId, result.getTotalRows(), result.getImported(), result.getFailed(), result.getDurationMs());
+        return result;
+    }
+
+    private void importChunk(List<ImportReader.Row<StudentRequestDto>> rows, Set<String> seenAdmissionNos,
+                             ImportChunkDriver<StudentRequestDto> driver, ResultReport report) {
+        String logId = LogContext.getLogId();
+        long chunkStart = System.currentTimeMillis();
+
+        // 1. Bean validation is CPU-only, so rows are checked in parallel (order is preserved)
+        List<String> validationErrors = rows.parallelStream().map(this::validate).toList();
+
+        List<ImportReader.Row<StudentRequestDto>> accepted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportReader.Row<StudentRequestDto> row = rows.get(i);
+            if (validationErrors.get(i) != null) {
+                report.rejected(row, validationErrors.get(i));
+                continue;
+            }
+            String admissionNo = row.value().getAdmissionNo();
+            if (admissionNo != null && !admissionNo.isBlank() && !seenAdmissionNos.add(admissionNo)) {
+                report.rejected(row, ServiceConstants.DUPLICATE_ADMISSION_NO + " within the import: " + admissionNo);
+                continue;
+            }
+            accepted.add(row);
+        }
+
+        // 2. One set-based lookup for all supplied admission numbers of the chunk
+        Set<String> supplied = accepted.stream()
+            .map(row -> row.value().getAdmissionNo())
+            .filter(no -> no != null && !no.isBlank())
+            .collect(Collectors.toSet());
+        Set<String> existing = supplied.isEmpty() ? Set.of() : new HashSet<>(studentRepository.findExistingAdmissionNos(supplied));
+
+        List<ImportReader.Row<StudentRequestDto>> toInsert = new ArrayList<>(accepted.size());
+        int needNumbers = 0;
+        for (ImportReader.Row<StudentRequestDto> row : accepted) {
+            String admissionNo = row.value().getAdmissionNo();
+            if (admissionNo == null || admissionNo.isBlank()) {
+                needNumbers++;
+                toInsert.add(row);
+            } else if (existing.contains(admissionNo)) {
+                report.rejected(row, "Admission number already exists: " + admissionNo);
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        // 3. Generated admission numbers come from one reserved block per chunk
+        if (needNumbers > 0) {
+            int year = LocalDate.now().getYear();
+            long next = numberAllocationService.reserveAdmissionNumbers(year, needNumbers);
+            for (ImportReader.Row<StudentRequestDto> row : toInsert) {
+                if (row.value().getAdmissionNo() == null || row.value().getAdmissionNo().isBlank()) {
+                    row.value().setAdmissionNo(numberAllocationService.formatAdmissionNumber(year, next++));
+                }
+            }
+        }
+
+        // 4. Batched insert of the whole chunk in one transaction; entities are built per attempt, so a retry starts clean
+        driver.insert(toInsert, Function.identity(), batch -> insert(batch.stream().map(ImportReader.Row::value).toList()), row -> { });
+
+        StudentImportResultDto result = report.result;
+        log.info("logId: {} - Import chunk of {} rows done in {} ms (imported so far: {}, failed so far: {})",
+                 logId, rows.size(), System.currentTimeMillis() - chunkStart, result.getImported(), result.getFailed());
+    }
+
+    private void insert(List<StudentRequestDto> requests) {
+        List<Student> students = new ArrayList<>(requests.size());
+        for (StudentRequestDto request : requests) {
+            if (Boolean.TRUE.equals(request.getSameAsCurrentAddress())) {
+                request.setPermanentAddress(request.getCurrentAddress());
+            }
+            students.add(studentMapper.toEntity(request));
+        }
+        // Inserted as JDBC batches (hibernate.jdbc.batch_size) with ids drawn from the pooled sequence
+        studentRepository.saveAll(students);
+        studentRepository.flush();
+        students.forEach(studentSearchIndex::indexAfterCommit);
+    }
+
+    private String validate(ImportReader.Row<StudentRequestDto> row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<StudentRequestDto>> violations = validator.validate(row.value());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static final class ResultReport implements ImportChunkDriver.Report<StudentRequestDto> {
+        private final StudentImportResultDto result;
+
+        private ResultReport(StudentImportResultDto result) {
+            this.result = result;
+        }
+
+        @Override
+        public void rowsRead(int count) {
+            result.setTotalRows(result.getTotalRows() + count);
+        }
+
+        @Override
+        public void imported(int count) {
+            result.setImported(result.getImported() + count);
+        }
+
+        @Override
+        public void rejected(ImportReader.Row<StudentRequestDto> row, String message) {
+            result.setFailed(result.getFailed() + 1);
+            result.getErrors().add(StudentImportResultDto.RowError.builder()
+                .row(row.rowNumber())
+                .admissionNo(row.value() != null ? row.value().getAdmissionNo() : null)
+                .message(message)
+                .build());
+        }
+
+        @Override
+        public void stopped(int rowNumber, String message) {
+            result.setCompleted(false);
+            result.getErrors().add(StudentImportResultDto.RowError.builder()
+                .row(rowNumber)
+                .message(message)
+                .build());
+        }
+    }
+}
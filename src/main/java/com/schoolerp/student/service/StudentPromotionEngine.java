@@ -0,0 +1,211 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.common.LogContext;
+import com.schoolerp.student.constants.ServiceConstants;
+import com.schoolerp.student.dto.PromoteStudentsRequestDto;
+import com.schoolerp.student.dto.PromotionResultDto;
+import com.schoolerp.student.dto.StudentPlacementRow;
+import com.schoolerp.student.entity.CommonMaster;
+import com.schoolerp.student.entity.StudentPromotionMapper;
+import com.schoolerp.student.exception.CustomException;
+import com.schoolerp.student.repository.StudentPromotionMapperRepository;
+import com.schoolerp.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Bulk promotion pipeline
+ * Splits the requested students into chunks and promotes each chunk in its own short transaction:
+ * one bulk read of current placements, batched inserts of promotion history rows and a single
+ * set-based UPDATE of the students table. Row locks are only held for the duration of one chunk.
+ */
+@Component
+@Slf4j
+public class StudentPromotionEngine {
+
+    /**
+     * Callback invoked after every chunk, e.g. to report progress or checkpoint a job.
+     * For a successful chunk it runs inside the chunk's transaction, so anything it writes
+     * (such as a job checkpoint) commits atomically with the promoted rows.
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void onChunkCompleted(PromotionResultDto.ChunkProgress progress);
+    }
+
+    private final StudentRepository studentRepository;
+    private final StudentPromotionMapperRepository studentPromotionMapperRepository;
+    private final CommonMasterCache commonMasterCache;
+    private final StudentSearchIndex studentSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.promotion.chunk-size:500}")
+    private int chunkSize;
+
+    public StudentPromotionEngine(StudentRepository studentRepository,
+                                  StudentPromotionMapperRepository studentPromotionMapperRepository,
+                                  CommonMasterCache commonMasterCache,
+                                  StudentSearchIndex studentSearchIndex,
+                                  PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.studentPromotionMapperRepository = studentPromotionMapperRepository;
+        this.commonMasterCache = commonMasterCache;
+        this.studentSearchIndex = studentSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Resolves the CommonMaster STATUS id applied to promoted students
+     *
+     * @throws CustomException if the status is not configured
+     */
+    public Integer resolveStatus(PromoteStudentsRequestDto requestDto) {
+        if (requestDto.isMarkAsAlumni()) {
+            return commonMasterCache.findActive("STATUS", "ALUMNI")
+                .map(CommonMaster::getId)
+                .orElseThrow(() -> new CustomException("ALUMNI status not found in CommonMaster", ServiceConstants.ERROR_CODE, "ALUMNI_STATUS_NOT_FOUND"));
+        }
+        return commonMasterCache.findActive("STATUS", requestDto.getStatus())
+            .map(CommonMaster::getId)
+            .orElseThrow(() -> new CustomException("PROMOTED status not found in CommonMaster", ServiceConstants.ERROR_CODE, "PROMOTED_STATUS_NOT_FOUND"));
+    }
+
+    /**
+     * Splits the requested IDs into de-duplicated chunks of the configured size, preserving request order
+     */
+    public List<List<Integer>> chunk(List<Integer> studentIds) {
+        return chunk(studentIds, chunkSize);
+    }
+
+    /**
+     * Splits the requested IDs into de-duplicated chunks, preserving request order
+     */
+    public List<List<Integer>> chunk(List<Integer> studentIds, int chunkSize) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            chunks.add(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Promotes the requested students chunk by chunk, starting at {@code startChunk}
+     *
+     * @param requestDto Promotion request
+     * @param statusId Resolved CommonMaster status id applied to every promoted student
+     * @param startChunk Index of the first chunk to process (0 for a fresh run)
+     * @param listener Optional callback invoked after each chunk
+     * @return Aggregated result with per-chunk progress
+     */
+    public PromotionResultDto promote(PromoteStudentsRequestDto requestDto, Integer statusId,
+                                      int startChunk, ChunkListener listener) {
+        return promote(requestDto, statusId, chunkSize, startChunk, listener);
+    }
+
+    /**
+     * Same as {@link #promote(PromoteStudentsRequestDto, Integer, int, ChunkListener)} with an explicit
+     * chunk size, so a resumed job splits the students exactly as the original run did
+     */
+    public PromotionResultDto promote(PromoteStudentsRequestDto requestDto, Integer statusId, int chunkSize,
+                                      int startChunk, ChunkListener listener) {
+        String logId = LogContext.getLogId();
+        long start = System.currentTimeMillis();
+        List<List<Integer>> chunks = chunk(requestDto.getStudentIds(), chunkSize);
+
+        PromotionResultDto result = PromotionResultDto.builder()
+            .totalRequested(chunks.stream().mapToInt(List::size).sum())
+            .chunkSize(chunkSize)
+            .build();
+
+        for (int index = startChunk; index < chunks.size(); index++) {
+            List<Integer> chunkIds = chunks.get(index);
+            int chunkIndex = index;
+            long chunkStart = System.currentTimeMillis();
+            PromotionResultDto.ChunkProgress progress;
+            try {
+                progress = transactionTemplate.execute(tx -> {
+                    int promoted = promoteChunk(chunkIds, requestDto, statusId);
+                    PromotionResultDto.ChunkProgress committed = PromotionResultDto.ChunkProgress.builder()
+                        .chunkIndex(chunkIndex)
+                        .totalChunks(chunks.size())
+                        .requested(chunkIds.size())
+                        .promoted(promoted)
+                        .notFound(chunkIds.size() - promoted)
+                        .durationMs(System.currentTimeMillis() - chunkStart)
+                        .build();
+                    if (listener != null) {
+                        listener.onChunkCompleted(committed);
+                    }
+                    return committed;
+                });
+                studentSearchIndex.applyPlacement(chunkIds, requestDto.getToClass(), statusId);
+            } catch (Exception e) {
+                log.error("logId: {} - Promotion chunk {}/{} rolled back: {}", logId, index + 1, chunks.size(), e.getMessage(), e);
+                progress = PromotionResultDto.ChunkProgress.builder()
+                    .chunkIndex(chunkIndex)
+                    .totalChunks(chunks.size())
+                    .requested(chunkIds.size())
+                    .failed(true)
+                    .error(e.getMessage())
+                    .durationMs(System.currentTimeMillis() - chunkStart)
+                    .build();
+                if (listener != null) {
+                    listener.onChunkCompleted(progress);
+                }
+            }
+
+            result.getChunks().add(progress);
+            result.setPromoted(result.getPromoted() + progress.getPromoted());
+            result.setNotFound(result.getNotFound() + progress.getNotFound());
+            result.setFailed(result.getFailed() + (progress.isFailed() ? progress.getRequested() : 0));
+
+            log.info("logId: {} - Promotion chunk {}/{}: {} promoted, {} not found, failed: {} in {} ms",
+                     logId, index + 1, chunks.size(), progress.getPromoted(), progress.getNotFound(),
+                     progress.isFailed(), progress.getDurationMs());
+        }
+
+        result.setDurationMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private int promoteChunk(List<Integer> chunkIds, PromoteStudentsRequestDto requestDto, Integer statusId) {
+        List<StudentPlacementRow> placements = studentRepository.findPlacementsByIdIn(chunkIds);
+        if (placements.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentPromotionMapper> promotions = new ArrayList<>(placements.size());
+        for (StudentPlacementRow placement : placements) {
+            StudentPromotionMapper promotion = new StudentPromotionMapper();
+            promotion.setStudentId(placement.getId().longValue());
+            promotion.setFromClass(placement.getClassApplyingFor());
+            promotion.setFromSection(placement.getSection());
+            promotion.setToClass(requestDto.getToClass());
+            promotion.setToSection(requestDto.getToSection());
+            promotion.setAcademicYear(requestDto.getAcademicYear());
+            promotion.setPromotionDate(now);
+            promotion.setStatus(statusId);
+            promotions.add(promotion);
+        }
+        // Inserted as JDBC batches (hibernate.jdbc.batch_size) with ids drawn from the pooled sequence
+        studentPromotionMapperRepository.saveAll(promotions);
+
+        List<Integer> foundIds = placements.stream().map(StudentPlacementRow::getId).toList();
+        return studentRepository.updatePlacement(foundIds, requestDto.getToClass(), requestDto.getToSection(),
+                requestDto.getAcademicYear(), statusId, now);
+    }
+}
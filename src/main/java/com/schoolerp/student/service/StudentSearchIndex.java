@@ -0,0 +1,337 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.StudentSearchRow;
+import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over student first name, last name and admission number.
+ * Replaces the leading-wildcard LIKE scan for free-text search: the index resolves the
+ * matching student IDs (already filtered and ordered) and only those IDs go to the database.
+ * The index is loaded once at startup, updated after each committed create/update/delete
+ * and periodically re-synced from {@code updatedAt} so changes made by other instances show up.
+ */
+@Component
+@Slf4j
+public class StudentSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::id, Comparator.reverseOrder());
+
+    private final StudentRepository studentRepository;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${app.search.index.sync-overlap-seconds:5}")
+    private long syncOverlapSeconds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastSyncedAt;
+
+    public StudentSearchIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Indexed search entry; immutable so readers never observe a half-updated student
+     */
+    record Entry(Integer id, String text, Integer status, Integer classApplyingFor, LocalDateTime createdAt) {
+    }
+
+    /**
+     * @return true once the initial load has completed and the index can answer searches
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Student search index disabled; search falls back to database LIKE queries");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        int afterId = 0;
+        int loaded = 0;
+        try {
+            while (true) {
+                List<StudentSearchRow> rows = studentRepository.findSearchRowsAfterId(afterId, PageRequest.of(0, loadBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    rows.forEach(row -> put(toEntry(row)));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += rows.size();
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+            lastSyncedAt = loadStartedAt;
+            ready = true;
+            log.info("Student search index loaded {} students with {} trigrams in {} ms",
+                     loaded, postings.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to load student search index; search falls back to database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Picks up rows changed outside this instance (other pods, bulk statements) since the last sync
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.sync-interval-ms:30000}")
+    public void syncChanges() {
+        if (!isReady()) {
+            return;
+        }
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        try {
+            List<StudentSearchRow> rows = studentRepository.findSearchRowsUpdatedSince(
+                    lastSyncedAt.minusSeconds(syncOverlapSeconds));
+            if (!rows.isEmpty()) {
+                lock.writeLock().lock();
+                try {
+                    for (StudentSearchRow row : rows) {
+                        if (row.isDeleted()) {
+                            remove(row.getId());
+                        } else {
+                            put(toEntry(row));
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Student search index synced {} changed students", rows.size());
+            }
+            lastSyncedAt = syncStartedAt;
+        } catch (Exception e) {
+            log.warn("Student search index sync failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes the student once the surrounding transaction commits (immediately if there is none)
+     */
+    public void indexAfterCommit(Student student) {
+        Entry entry = toEntry(student);
+        runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes the student once the surrounding transaction commits (immediately if there is none)
+     */
+    public void removeAfterCommit(Integer studentId) {
+        runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(studentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Applies a bulk class/status change (e.g. promotion) to already indexed students
+     */
+    public void applyPlacement(Collection<Integer> studentIds, Integer classApplyingFor, Integer status) {
+        lock.writeLock().lock();
+        try {
+            for (Integer id : studentIds) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entries.put(id, new Entry(id, entry.text(), status, classApplyingFor, entry.createdAt()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds students whose first name, last name or admission number contains the search term,
+     * with the same semantics as the case-insensitive {@code LIKE '%term%'} it replaces.
+     *
+     * @return matching student IDs ordered newest first (createdAt desc, id desc)
+     */
+    public List<Integer> search(String search, Integer status, Integer classFilter) {
+        return searchAfter(search, status, classFilter, null, null);
+    }
+
+    /**
+     * Same as {@link #search} but only returns students that sort after the given keyset position,
+     * i.e. created before {@code afterCreatedAt}, or at the same instant with a lower id
+     */
+    public List<Integer> searchAfter(String search, Integer status, Integer classFilter,
+                                     LocalDateTime afterCreatedAt, Integer afterId) {
+        Entry position = afterId != null ? new Entry(afterId, "", null, null, afterCreatedAt) : null;
+        String term = normalize(search);
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = new ArrayList<>();
+            for (Entry entry : candidates(term)) {
+                if ((status == null || status.equals(entry.status()))
+                        && (classFilter == null || classFilter.equals(entry.classApplyingFor()))
+                        && (position == null || NEWEST_FIRST.compare(entry, position) > 0)
+                        && entry.text().contains(term)) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(NEWEST_FIRST);
+            return matches.stream().map(Entry::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the posting lists of every trigram in the term, smallest first.
+     * Terms shorter than a trigram cannot use the postings and are verified against all entries.
+     */
+    private Iterable<Entry> candidates(String term) {
+        if (term.length() < GRAM_SIZE) {
+            return entries.values();
+        }
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<Entry> result = new ArrayList<>();
+        for (Integer id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(entries.get(id));
+            }
+        }
+        return result;
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            if (previous.text().equals(entry.text())) {
+                return;
+            }
+            unlinkGrams(previous);
+        }
+        for (String gram : grams(entry.text())) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private void remove(Integer id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlinkGrams(previous);
+        }
+    }
+
+    private void unlinkGrams(Entry entry) {
+        for (String gram : grams(entry.text())) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(entry.id());
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trigrams of the text; grams spanning a field separator are skipped so
+     * matches never cross from one field into the next
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM_SIZE);
+            if (gram.indexOf(FIELD_SEPARATOR) < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    private static Entry toEntry(StudentSearchRow row) {
+        return new Entry(row.getId(), searchText(row.getFirstName(), row.getLastName(), row.getAdmissionNo()),
+                row.getStatus(), row.getClassApplyingFor(), row.getCreatedAt());
+    }
+
+    private static Entry toEntry(Student student) {
+        return new Entry(student.getId(), searchText(student.getFirstName(), student.getLastName(), student.getAdmissionNo()),
+                student.getStatus(), student.getClassApplyingFor(), student.getCreatedAt());
+    }
+
+    private static String searchText(String firstName, String lastName, String admissionNo) {
+        return normalize(firstName) + FIELD_SEPARATOR + normalize(lastName) + FIELD_SEPARATOR + normalize(admissionNo);
+    }
+
+    private static String normalize(String value) {
+        return Objects.toString(value, "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
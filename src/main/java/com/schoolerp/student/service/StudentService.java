@@ -1,5 +1,6 @@
 package com.schoolerp.student.service;
 
+import com.schoolerp.student.common.KeysetCursor;
 import com.schoolerp.student.common.LogContext;
 import com.schoolerp.student.constants.ServiceConstants;
 import com.schoolerp.student.dto.*;
@@ -14,11 +15,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -27,19 +34,19 @@ class StudentService implements StudentServiceImpl {
     
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
-    private final FeeStructureRepository feeStructureRepository;
-    private final StudentPromotionMapperRepository studentPromotionMapperRepository;
-    private final CommonMasterRepository commonMasterRepository;
-    private final StudentDocumentRepository studentDocumentRepository;
+    private final FeeStructureCache feeStructureCache;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentPromotionEngine studentPromotionEngine;
+    private final NumberAllocationService numberAllocationService;
 
 
-    StudentService(StudentRepository studentRepository, StudentMapper studentMapper, FeeStructureRepository feeStructureRepository, StudentPromotionMapperRepository studentPromotionMapperRepository, CommonMasterRepository commonMasterRepository, StudentDocumentRepository studentDocumentRepository) {
+    StudentService(StudentRepository studentRepository, StudentMapper studentMapper, FeeStructureCache feeStructureCache, StudentSearchIndex studentSearchIndex, StudentPromotionEngine studentPromotionEngine, NumberAllocationService numberAllocationService) {
         this.studentRepository = studentRepository;
         this.studentMapper = studentMapper;
-        this.feeStructureRepository = feeStructureRepository;
-        this.studentPromotionMapperRepository = studentPromotionMapperRepository;
-        this.commonMasterRepository = commonMasterRepository;
-        this.studentDocumentRepository = studentDocumentRepository;
+        this.feeStructureCache = feeStructureCache;
+        this.studentSearchIndex = studentSearchIndex;
+        this.studentPromotionEngine = studentPromotionEngine;
+        this.numberAllocationService = numberAllocationService;
     }
 
     @Override
@@ -50,6 +57,13 @@ class StudentService implements StudentServiceImpl {
                  logId, search, status, classFilter, page, size);
         
         try {
+            if (search != null && search.isBlank()) {
+                search = null;
+            }
+            if (search != null && studentSearchIndex.isReady()) {
+                return searchStudentsFromIndex(search, status, classFilter,
+                        page != null ? page : 0, size != null ? size : 20);
+            }
             
             Pageable pageable = PageRequest.of(
                 page != null ? page : 0, 
@@ -79,44 +93,149 @@ class StudentService implements StudentServiceImpl {
         }
     }
 
+    /**
+     * Resolves the matching IDs from the in-memory search index and loads only the requested page from the database
+     */
+    private StudentsListResponseDto searchStudentsFromIndex(String search, Integer status, Integer classFilter,
+                                                            int page, int size) {
+        String logId = LogContext.getLogId();
+        List<Integer> matchedIds = studentSearchIndex.search(search, status, classFilter);
+
+        int from = (int) Math.min((long) page * size, matchedIds.size());
+        int to = Math.min(from + size, matchedIds.size());
+        List<Integer> pageIds = matchedIds.subList(from, to);
+
+        Map<Integer, Student> studentsById = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            studentRepository.findAllByIdInAndIsDeletedFalse(pageIds)
+                .forEach(student -> studentsById.put(student.getId(), student));
+        }
+
+        List<StudentResponseDto> studentDtos = pageIds.stream()
+            .map(studentsById::get)
+            .filter(Objects::nonNull)
+            .map(studentMapper::toDto)
+            .toList();
+
+        log.info("logId: {} - Search index matched {} students, returning {} for page {}",
+                 logId, matchedIds.size(), studentDtos.size(), page);
+
+        return new StudentsListResponseDto(studentDtos, (long) matchedIds.size());
+    }
+
+    @Override
+    public StudentsListResponseDto getStudentsByCursor(String search, Integer status, Integer classFilter,
+                                                       String cursor, Integer size, boolean includeTotal) {
+        String logId = LogContext.getLogId();
+        log.info("logId: {} - Starting getStudentsByCursor with search: {}, status: {}, class: {}, size: {}, includeTotal: {}",
+                 logId, search, status, classFilter, size, includeTotal);
+
+        try {
+            if (search != null && search.isBlank()) {
+                search = null;
+            }
+            int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            LocalDateTime afterCreatedAt = after != null ? after.getSortValue() : null;
+            Integer afterId = after != null ? after.getId() : null;
+
+            List<Student> students;
+            Long total = null;
+            if (search != null && studentSearchIndex.isReady()) {
+                List<Integer> matchedIds = studentSearchIndex.searchAfter(search, status, classFilter, afterCreatedAt, afterId);
+                // The index can lag behind deletes, so keep reading matches until one live student past the page is found
+                students = new ArrayList<>();
+                for (int from = 0; from < matchedIds.size() && students.size() <= pageSize; ) {
+                    int to = Math.min(from + pageSize + 1 - students.size(), matchedIds.size());
+                    List<Integer> batchIds = matchedIds.subList(from, to);
+                    Map<Integer, Student> studentsById = new HashMap<>();
+                    studentRepository.findAllByIdInAndIsDeletedFalse(batchIds)
+                        .forEach(student -> studentsById.put(student.getId(), student));
+                    batchIds.stream().map(studentsById::get).filter(Objects::nonNull).forEach(students::add);
+                    from = to;
+                }
+                if (includeTotal) {
+                    total = (long) studentSearchIndex.search(search, status, classFilter).size();
+                }
+            } else {
+                // Fetch one extra row to learn whether another page exists without a COUNT query
+                students = studentRepository.findStudentsAfterCursor(
+                    search, status, classFilter, afterCreatedAt, afterId, PageRequest.of(0, pageSize + 1)
+                );
+                if (includeTotal) {
+                    total = studentRepository.countStudentsWithFilters(search, status, classFilter);
+                }
+            }
+
+            boolean hasMore = students.size() > pageSize;
+            List<Student> pageStudents = hasMore ? students.subList(0, pageSize) : students;
+            List<StudentResponseDto> studentDtos = pageStudents.stream()
+                .map(studentMapper::toDto)
+                .toList();
+
+            StudentsListResponseDto result = new StudentsListResponseDto(studentDtos, total);
+            if (hasMore) {
+                Student last = pageStudents.get(pageStudents.size() - 1);
+                result.setNextCursor(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+            }
+
+            log.info("logId: {} - Successfully retrieved {} students, hasMore: {}", logId, studentDtos.size(), hasMore);
+
+            return result;
+
+        } catch (Exception e) {
+            log.error("logId: {} - Error retrieving students by cursor: {}", logId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @Override
     public StudentResponseDto getStudentById(Integer id) {
+        return getStudentById(id, null);
+    }
+
+    @Override
+    public StudentResponseDto getStudentById(Integer id, Set<String> include) {
         String logId = LogContext.getLogId();
-        log.info("logId: {} - Starting getStudentById for id: {}", logId, id);
+        log.info("logId: {} - Starting getStudentById for id: {}, include: {}", logId, id, include);
 
         try {
-            Student student = studentRepository.findByIdAndIsDeletedFalse(id)
-                    .orElseThrow(() -> {
-                        log.warn("logId: {} - Student not found with id: {}", logId, id);
-                        return new ResourceNotFoundException("Student not found with id: " + id);
-                    });
+            boolean includeDocuments = isIncluded(include, ServiceConstants.PROFILE_INCLUDE_DOCUMENTS);
+            boolean includeFees = isIncluded(include, ServiceConstants.PROFILE_INCLUDE_FEES);
+
+            // 🔹 Student and its active documents in a single query
+            Student student;
+            List<StudentDocumentDto> documentDtos = new ArrayList<>();
+            if (includeDocuments) {
+                List<Object[]> rows = studentRepository.findProfileRows(id);
+                if (rows.isEmpty()) {
+                    log.warn("logId: {} - Student not found with id: {}", logId, id);
+                    throw new ResourceNotFoundException("Student not found with id: " + id);
+                }
+                student = (Student) rows.get(0)[0];
+                for (Object[] row : rows) {
+                    if (row[1] != null) {
+                        documentDtos.add(new StudentDocumentDto((Integer) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]));
+                    }
+                }
+            } else {
+                student = studentRepository.findByIdAndIsDeletedFalse(id)
+                        .orElseThrow(() -> {
+                            log.warn("logId: {} - Student not found with id: {}", logId, id);
+                            return new ResourceNotFoundException("Student not found with id: " + id);
+                        });
+            }
 
             // Map student to DTO
             StudentResponseDto result = studentMapper.toDto(student);
+            if (includeDocuments) {
+                result.setStudentDocuments(documentDtos);
+            }
 
-            // 🔹 Attach student documents
-            List<StudentDocument> documents = studentDocumentRepository.findByStudentIdAndIsDeletedFalse(id);
-            List<StudentDocumentDto> documentDtos = documents.stream()
-                    .map(doc -> new StudentDocumentDto(
-                            doc.getId(),
-                            doc.getDocumentType(),
-                            doc.getDocumentName(),
-                            doc.getS3Url()
-                    ))
-                    .toList();
-            result.setStudentDocuments(documentDtos);
-
-            // 🔹 Fetch and attach FeeStructure
-            if (student.getClassApplyingFor() != null && student.getAcademicYear() != null) {
-                Optional<FeeStructure> feeStructureOpt = feeStructureRepository.findByClassId_IdAndAcademicYear_IdAndIsDeletedFalse(
-                        student.getClassApplyingFor(),
-                        student.getAcademicYear() // assuming it's an object; adjust if it's just ID
-                );
-
-                feeStructureOpt.ifPresent(feeStructure -> {
-                    FeeStructureResponse feeStructureDto = StudentMapper.toFeeStructureResponse(feeStructure);
-                    result.setFeeStructureResponse(feeStructureDto);
-                });
+            // 🔹 Attach FeeStructure, shared by every student of the class in that academic year (served from cache)
+            if (includeFees) {
+                feeStructureCache.find(student.getClassApplyingFor(), student.getAcademicYear())
+                        .ifPresent(result::setFeeStructureResponse);
             }
 
             log.info("logId: {} - Successfully retrieved student: {} {}", logId, student.getFirstName(), student.getLastName());
@@ -129,6 +248,20 @@ class StudentService implements StudentServiceImpl {
         }
     }
 
+    private static boolean isIncluded(Set<String> include, String part) {
+        if (include == null || include.isEmpty()) {
+            return true;
+        }
+        for (String value : include) {
+            String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+            if (!ServiceConstants.PROFILE_INCLUDE_DOCUMENTS.equals(normalized)
+                    && !ServiceConstants.PROFILE_INCLUDE_FEES.equals(normalized)) {
+                throw new CustomException("Unknown include value: " + value, ServiceConstants.ERROR_CODE, "INVALID_INCLUDE");
+            }
+        }
+        return include.stream().anyMatch(value -> part.equalsIgnoreCase(value.trim()));
+    }
+
 
     @Override
     public StudentResponseDto createStudent(StudentRequestDto requestDto) {
@@ -157,6 +290,7 @@ class StudentService implements StudentServiceImpl {
             Student student = studentMapper.toEntity(requestDto);
             
             Student savedStudent = studentRepository.save(student);
+            studentSearchIndex.indexAfterCommit(savedStudent);
             
             log.info("logId: {} - Successfully created student with ID: {} and admission number: {}", 
                      logId, savedStudent.getId(), savedStudent.getAdmissionNo());
@@ -193,6 +327,7 @@ class StudentService implements StudentServiceImpl {
             
             studentMapper.updateEntityFromDto(requestDto, existingStudent);
             Student updatedStudent = studentRepository.save(existingStudent);
+            studentSearchIndex.indexAfterCommit(updatedStudent);
             
             log.info("logId: {} - Successfully updated student with ID: {} - {} {}", 
                      logId, updatedStudent.getId(), updatedStudent.getFirstName(), updatedStudent.getLastName());
@@ -222,6 +357,7 @@ class StudentService implements StudentServiceImpl {
             
             student.setDeleted(true);
             studentRepository.save(student);
+            studentSearchIndex.removeAfterCommit(id);
 
             log.info("logId: {} - Successfully soft deleted student with ID: {} - {} {}",
                      logId, id, student.getFirstName(), student.getLastName());
@@ -233,73 +369,37 @@ class StudentService implements StudentServiceImpl {
     }
     
     @Override
-    public void promoteStudents(PromoteStudentsRequestDto requestDto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PromotionResultDto promoteStudents(PromoteStudentsRequestDto requestDto) {
         String logId = LogContext.getLogId();
         log.info("logId: {} - Starting promoteStudents from {}-{} to {}-{} for {} students", 
                  logId, requestDto.getFromClass(), requestDto.getFromSection(),
                  requestDto.getToClass(), requestDto.getToSection(), requestDto.getStudentIds().size());
         try {
-            List<Student> studentsToPromote = studentRepository.findAllByIdInAndIsDeletedFalse(requestDto.getStudentIds());
-            if (studentsToPromote.isEmpty()) {
+            // Resolved once for the whole batch; every promoted student gets the same status
+            Integer statusId = studentPromotionEngine.resolveStatus(requestDto);
+
+            PromotionResultDto result = studentPromotionEngine.promote(requestDto, statusId, 0, null);
+            if (result.getPromoted() == 0 && result.getFailed() == 0) {
                 log.warn("logId: {} - No students found with provided IDs: {}", logId, requestDto.getStudentIds());
                 throw new ResourceNotFoundException("No students found with provided IDs");
             }
-            log.debug("logId: {} - Found {} students for promotion", logId, studentsToPromote.size());
-            for (Student student : studentsToPromote) {
-                log.debug("logId: {} - Promoting student: {} {} from {}-{} to {}-{}", 
-                          logId, student.getFirstName(), student.getLastName(),
-                          student.getClassApplyingFor(), student.getSection(),
-                          requestDto.getToClass(), requestDto.getToSection());
-                // Save promotion details in mapper table
-                StudentPromotionMapper promotion = new StudentPromotionMapper();
-                promotion.setStudentId(student.getId().longValue());
-                promotion.setFromClass(student.getClassApplyingFor());
-                promotion.setFromSection(student.getSection());
-                promotion.setToClass(requestDto.getToClass());
-                promotion.setToSection(requestDto.getToSection());
-                promotion.setAcademicYear(requestDto.getAcademicYear());
-                promotion.setPromotionDate(LocalDateTime.now());
-                // Fetch orgId (assume from student or requestDto, update as needed)
-                Integer statusId = null;
-                if (requestDto.isMarkAsAlumni()) {
-                    statusId = commonMasterRepository.findByCommonMasterKeyAndDataAndAndStatus("STATUS","ALUMNI",true)
-                        .map(CommonMaster::getId)
-                        .orElseThrow(() -> new CustomException("ALUMNI status not found in CommonMaster", ServiceConstants.ERROR_CODE, "ALUMNI_STATUS_NOT_FOUND"));
-                } else {
-                    statusId = commonMasterRepository.findByCommonMasterKeyAndDataAndAndStatus("STATUS",requestDto.getStatus() ,true)
-                        .map(CommonMaster::getId)
-                        .orElseThrow(() -> new CustomException("PROMOTED status not found in CommonMaster", ServiceConstants.ERROR_CODE, "PROMOTED_STATUS_NOT_FOUND"));
-                }
-                promotion.setStatus(statusId);
-                studentPromotionMapperRepository.save(promotion);
-                // Update student details
-                student.setClassApplyingFor(requestDto.getToClass());
-                student.setSection(requestDto.getToSection());
-                student.setAcademicYear(requestDto.getAcademicYear());
-                student.setStatus(statusId);
-                if (requestDto.isMarkAsAlumni()) {
-                    log.debug("logId: {} - Marked student {} {} as alumni",
-                              logId, student.getFirstName(), student.getLastName());
-                }
-            }
-            studentRepository.saveAll(studentsToPromote);
-            log.info("logId: {} - Successfully promoted {} students from {}-{} to {}-{}",
-                     logId, studentsToPromote.size(), 
+            log.info("logId: {} - Promoted {} students ({} not found, {} failed) from {}-{} to {}-{} in {} ms",
+                     logId, result.getPromoted(), result.getNotFound(), result.getFailed(),
                      requestDto.getFromClass(), requestDto.getFromSection(),
-                     requestDto.getToClass(), requestDto.getToSection());
+                     requestDto.getToClass(), requestDto.getToSection(), result.getDurationMs());
             // TODO: Send notifications if requestDto.isSendNotification() is true
             if (requestDto.isSendNotification()) {
                 log.info("logId: {} - Notification sending requested but not yet implemented", logId);
             }
+            return result;
         } catch (Exception e) {
             log.error("logId: {} - Error promoting students: {}", logId, e.getMessage(), e);
             throw e;
         }
     }
-    
+
     private String generateAdmissionNumber() {
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        String randomSuffix = String.valueOf((int) (Math.random() * 9000) + 1000);
-        return "AD-" + year + "-" + randomSuffix;
+        return numberAllocationService.nextAdmissionNumber();
     }
 }
\ No newline at end of file
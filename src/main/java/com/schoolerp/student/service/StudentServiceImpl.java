@@ -2,6 +2,8 @@ package com.schoolerp.student.service;
 
 import com.schoolerp.student.dto.*;
 
+import java.util.Set;
+
 /**
  * Interface for Student Service operations
  * Defines contract for student management functionality
@@ -20,6 +22,21 @@ public interface StudentServiceImpl {
      */
     StudentsListResponseDto getAllStudents(String search, Integer status, Integer classFilter,
                                           Integer page, Integer size);
+
+    /**
+     * Retrieves students with keyset (seek) pagination on (createdAt, id), newest first
+     * Avoids OFFSET scans on deep pages and skips the COUNT query unless a total is requested
+     * 
+     * @param search Search term for student name or admission number
+     * @param status Student status filter
+     * @param classFilter Class filter
+     * @param cursor Opaque cursor from the previous page, null for the first page
+     * @param size Number of records per page
+     * @param includeTotal Whether to compute the total number of matching records
+     * @return StudentsListResponseDto containing the page and the cursor for the next page
+     */
+    StudentsListResponseDto getStudentsByCursor(String search, Integer status, Integer classFilter,
+                                               String cursor, Integer size, boolean includeTotal);
     
     /**
      * Retrieves a student by their unique ID
@@ -29,6 +46,17 @@ public interface StudentServiceImpl {
      * @throws com.schoolerp.student.exception.ResourceNotFoundException if student not found
      */
     StudentResponseDto getStudentById(Integer id);
+
+    /**
+     * Retrieves a student profile with only the requested optional parts
+     *
+     * @param id Student unique identifier
+     * @param include Optional parts to attach ("documents", "fees"); null or empty attaches all
+     * @return StudentResponseDto containing student details
+     * @throws com.schoolerp.student.exception.ResourceNotFoundException if student not found
+     * @throws com.schoolerp.student.exception.CustomException if an unknown part is requested
+     */
+    StudentResponseDto getStudentById(Integer id, Set<String> include);
     
     /**
      * Creates a new student record
@@ -58,9 +86,11 @@ public interface StudentServiceImpl {
     
     /**
      * Promotes multiple students from one class/section to another
+     * Students are processed in chunks, each committed in its own transaction
      * 
      * @param requestDto Promotion request containing student IDs and target class/section
+     * @return PromotionResultDto with promoted/not found/failed counts and per-chunk progress
      * @throws com.schoolerp.student.exception.ResourceNotFoundException if students not found
      */
-    void promoteStudents(PromoteStudentsRequestDto requestDto);
+    PromotionResultDto promoteStudents(PromoteStudentsRequestDto requestDto);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.schoolerp.student.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.dto.MarksheetResponseDto;
+import com.schoolerp.student.dto.SubjectMarkDto;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetSubject;
+import com.schoolerp.student.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarksheetSubjectMapperTest {
+
+    private final MarksheetSubjectMapper mapper = new MarksheetSubjectMapper();
+
+    @Test
+    void toRows_ShouldStoreOneSpellingPerSubject() {
+        Marksheet marksheet = Marksheet.builder().id(1).studentId("7").build();
+        List<MarksheetSubject> rows = mapper.toRows(marksheet, List.of(
+            new SubjectMarkDto(" maths ", 80, 100), new SubjectMarkDto("COMPUTER   science", 70, 100)));
+
+        assertEquals(List.of("Maths", "Computer Science"), rows.stream().map(MarksheetSubject::getSubjectName).toList());
+    }
+
+    @Test
+    void validate_ShouldRejectSubjectsThatOnlyDifferInCaseOrSpacing() {
+        assertThrows(CustomException.class, () -> mapper.validate(List.of(
+            new SubjectMarkDto("Maths", 80, 100), new SubjectMarkDto(" MATHS", 75, 100))));
+    }
+
+    @Test
+    void toResponses_ShouldSerializeTheMarksheetFieldsWithItsSubjectMarks() throws Exception {
+        Marksheet withSubjects = Marksheet.builder().id(1).studentId("7").build();
+        Marksheet totalsOnly = Marksheet.builder().id(2).studentId("7").build();
+        MarksheetSubject row = MarksheetSubject.builder().marksheetId(1).subjectName("Maths").marksObtained(80).maxMarks(100).build();
+
+        List<MarksheetResponseDto> responses = mapper.toResponses(List.of(withSubjects, totalsOnly), List.of(row));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        String first = objectMapper.writeValueAsString(responses.get(0));
+        String second = objectMapper.writeValueAsString(responses.get(1));
+
+        assertTrue(first.contains("\"studentId\":\"7\""));
+        assertTrue(first.contains("\"subjectMarks\":[{\"subject\":\"Maths\",\"marksObtained\":80,\"maxMarks\":100}]"));
+        assertFalse(first.contains("\"marksheet\""));
+        assertFalse(second.contains("subjectMarks"));
+    }
+}
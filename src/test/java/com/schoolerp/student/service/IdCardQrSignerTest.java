@@ -0,0 +1,48 @@
+package com.schoolerp.student.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdCardQrSignerTest {
+
+    private final IdCardQrSigner signer = new IdCardQrSigner("test-secret-0123456789abcdefghijklmnop");
+
+    @Test
+    void verify_ShouldReturnSignedFields() {
+        String payload = signer.sign("ID-2025-10001", "42", LocalDate.of(2026, 3, 31));
+
+        Optional<IdCardQrSigner.Claims> claims = signer.verify(payload);
+
+        assertTrue(payload.startsWith("STUDENT_CARD:v1:ID-2025-10001:42:20260331:"));
+        assertEquals(Optional.of(new IdCardQrSigner.Claims("ID-2025-10001", "42", LocalDate.of(2026, 3, 31))), claims);
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedPayloads() {
+        String payload = signer.sign("ID-2025-10001", "42", LocalDate.of(2026, 3, 31));
+
+        assertTrue(signer.verify(payload.replace(":42:", ":43:")).isEmpty());
+        assertTrue(signer.verify(payload.replace("20260331", "20300331")).isEmpty());
+        assertTrue(new IdCardQrSigner("other-secret-0123456789abcdefghijklmno").verify(payload).isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectMissingOrShortSecrets() {
+        assertThrows(IllegalStateException.class, () -> new IdCardQrSigner(null));
+        assertThrows(IllegalStateException.class, () -> new IdCardQrSigner(""));
+        assertThrows(IllegalStateException.class, () -> new IdCardQrSigner("change-me-id-card-qr-secret"));
+    }
+
+    @Test
+    void verify_ShouldRejectMalformedPayloads() {
+        assertTrue(signer.verify(null).isEmpty());
+        assertTrue(signer.verify("STUDENT_CARD:ID-2025-10001:1a2b3c4d").isEmpty());
+        assertTrue(signer.verify("STUDENT_CARD:v1:sig").isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.dto.ImportFormat;
+import com.schoolerp.student.dto.MarksheetImportResultDto;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.mapper.MarksheetMapper;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
+import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarksheetImportServiceImplTest {
+
+    private static final MarksheetRankEngine.Cohort CLASS_10_A = new MarksheetRankEngine.Cohort("2025-2026", "10", "A", "FINAL");
+    private static final MarksheetRankEngine.Cohort CLASS_10_B = new MarksheetRankEngine.Cohort("2025-2026", "10", "B", "FINAL");
+
+    private MarksheetRepository marksheetRepository;
+    private MarksheetRankEngine marksheetRankEngine;
+    private MarksheetImportServiceImpl importService;
+
+    /**
+     * Ids each marksheet had when it was handed to saveAll, one list per call
+     */
+    private final List<List<Integer>> idsOnSave = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        marksheetRepository = mock(MarksheetRepository.class);
+        marksheetRankEngine = mock(MarksheetRankEngine.class);
+        MarksheetSubjectMapper subjectMapper = new MarksheetSubjectMapper();
+        importService = new MarksheetImportServiceImpl(marksheetRepository, mock(MarksheetSubjectRepository.class),
+            new MarksheetMapper(subjectMapper), subjectMapper, marksheetRankEngine, mock(PublishedResultsCache.class),
+            mock(Validator.class), new ObjectMapper(), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(importService, "chunkSize", 10);
+
+        // Ids are drawn from the sequence on persist, before the insert that fails
+        int[] sequence = {100};
+        when(marksheetRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Marksheet> marksheets = invocation.getArgument(0);
+            idsOnSave.add(marksheets.stream().map(Marksheet::getId).toList());
+            marksheets.forEach(marksheet -> marksheet.setId(sequence[0]++));
+            if (marksheets.stream().anyMatch(marksheet -> "bad".equals(marksheet.getStudentId()))) {
+                throw new DataIntegrityViolationException("insert failed", new IllegalStateException("Duplicate entry 'bad'"));
+            }
+            return marksheets;
+        });
+    }
+
+    @Test
+    void importMarksheets_ShouldRetryAFailedChunkRowByRowWithFreshIds() {
+        MarksheetImportResultDto result = importService.importMarksheets(ndjson(
+            row("1", "A"), row("bad", "B"), row("3", "A")), ImportFormat.NDJSON);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("bad", result.getErrors().get(0).getStudentId());
+        assertEquals("Insert failed: Duplicate entry 'bad'", result.getErrors().get(0).getMessage());
+
+        // The batch, then each row alone without the id the rolled-back batch assigned
+        assertEquals(4, idsOnSave.size());
+        idsOnSave.subList(1, 4).forEach(ids -> assertEquals(1, ids.size()));
+        idsOnSave.subList(1, 4).forEach(ids -> assertEquals(null, ids.get(0)));
+    }
+
+    @Test
+    void importMarksheets_ShouldRankOnlyCohortsThatReceivedMarksheets() {
+        MarksheetImportResultDto result = importService.importMarksheets(ndjson(
+            row("1", "A"), row("bad", "B")), ImportFormat.NDJSON);
+
+        assertEquals(1, result.getCohortsRanked());
+        verify(marksheetRankEngine).recompute(CLASS_10_A);
+        verify(marksheetRankEngine, never()).recompute(CLASS_10_B);
+    }
+
+    @Test
+    void importMarksheets_ShouldImportRowsBeforeMalformedInputAndReportWhereItStopped() {
+        // A JSON array cut off inside its second element
+        MarksheetImportResultDto result = importService.importMarksheets(new ByteArrayInputStream(
+            ("[" + row("1", "A") + ", {\"studentId\": ").getBytes(StandardCharsets.UTF_8)), ImportFormat.JSON);
+
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().endsWith("remaining rows were not read"));
+    }
+
+    private static String row(String studentId, String section) {
+        return "{\"studentId\":\"" + studentId + "\",\"academicYear\":\"2025-2026\",\"className\":\"10\",\"section\":\""
+            + section + "\",\"examType\":\"FINAL\",\"totalMarks\":400,\"maxTotalMarks\":500}";
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
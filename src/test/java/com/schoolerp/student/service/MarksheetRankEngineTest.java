@@ -0,0 +1,184 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.MarksheetScoreRow;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.entity.MarksheetCohortLock;
+import com.schoolerp.student.repository.MarksheetCohortLockRepository;
+import com.schoolerp.student.repository.MarksheetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarksheetRankEngineTest {
+
+    private static final MarksheetRankEngine.Cohort CLASS_10_A = new MarksheetRankEngine.Cohort("2025-2026", "10", "A", "FINAL");
+    private static final MarksheetRankEngine.Cohort CLASS_10_B = new MarksheetRankEngine.Cohort("2025-2026", "10", "B", "FINAL");
+
+    private MarksheetRepository marksheetRepository;
+    private MarksheetCohortLockRepository cohortLockRepository;
+    private EntityManager entityManager;
+    private MarksheetRankEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        marksheetRepository = mock(MarksheetRepository.class);
+        cohortLockRepository = mock(MarksheetCohortLockRepository.class);
+        entityManager = mock(EntityManager.class);
+        engine = new MarksheetRankEngine(marksheetRepository, cohortLockRepository, entityManager, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(engine, "chunkSize", 4);
+    }
+
+    @Test
+    void denseRanks_ShouldRankHighestFirstAndShareRanksOnTies() {
+        double[] scores = {72.5, 91.0, 72.5, 60.0, 91.0, 88.2};
+        assertArrayEquals(new int[]{3, 1, 3, 4, 1, 2}, MarksheetRankEngine.denseRanks(scores));
+    }
+
+    @Test
+    void denseRanks_ShouldHandleEmptyAndSingleCohorts() {
+        assertArrayEquals(new int[0], MarksheetRankEngine.denseRanks(new double[0]));
+        assertArrayEquals(new int[]{1}, MarksheetRankEngine.denseRanks(new double[]{45.0}));
+    }
+
+    @Test
+    void denseRanks_ShouldNotReorderTheInput() {
+        double[] scores = {10.0, 30.0, 20.0};
+        MarksheetRankEngine.denseRanks(scores);
+        assertArrayEquals(new double[]{10.0, 30.0, 20.0}, scores);
+    }
+
+    @Test
+    void applyChange_Insert_ShouldShiftLowerRanksDownOnlyForANewPercentage() {
+        when(distinctAbove(CLASS_10_A, 80.0)).thenReturn(2L);
+
+        Marksheet created = marksheet(CLASS_10_A, 80.0);
+        engine.applyChange(10, null, null, created);
+
+        shiftedBelow(verify(marksheetRepository), CLASS_10_A, 80.0, 1);
+        verify(marksheetRepository).updateRank(eq(10), eq(3), any());
+        assertEquals(3, created.getRank());
+    }
+
+    @Test
+    void applyChange_InsertTyingAnExistingPercentage_ShouldShareItsRankWithoutShifting() {
+        when(withPercentage(CLASS_10_A, 80.0)).thenReturn(1L);
+        when(distinctAbove(CLASS_10_A, 80.0)).thenReturn(2L);
+
+        engine.applyChange(10, null, null, marksheet(CLASS_10_A, 80.0));
+
+        verify(marksheetRepository, never()).shiftRanksBelow(anyString(), anyString(), anyString(), anyString(), anyDouble(), anyInt(), anyInt(), any());
+        verify(marksheetRepository).updateRank(eq(10), eq(3), any());
+    }
+
+    @Test
+    void applyChange_MoveWithinCohort_ShouldCloseTheOldGapBeforeOpeningTheNewOne() {
+        when(distinctAbove(CLASS_10_A, 90.0)).thenReturn(0L);
+
+        Marksheet corrected = marksheet(CLASS_10_A, 90.0);
+        engine.applyChange(10, CLASS_10_A, 70.0, corrected);
+
+        InOrder order = inOrder(marksheetRepository);
+        shiftedBelow(order.verify(marksheetRepository), CLASS_10_A, 70.0, -1);
+        shiftedBelow(order.verify(marksheetRepository), CLASS_10_A, 90.0, 1);
+        order.verify(marksheetRepository).updateRank(eq(10), eq(1), any());
+        assertEquals(1, corrected.getRank());
+    }
+
+    @Test
+    void applyChange_PercentageCleared_ShouldCloseTheGapAndDropTheRank() {
+        Marksheet corrected = marksheet(CLASS_10_A, null);
+        engine.applyChange(10, CLASS_10_A, 70.0, corrected);
+
+        shiftedBelow(verify(marksheetRepository), CLASS_10_A, 70.0, -1);
+        verify(marksheetRepository, times(1)).shiftRanksBelow(anyString(), anyString(), anyString(), anyString(), anyDouble(), anyInt(), anyInt(), any());
+        verify(marksheetRepository).updateRank(eq(10), isNull(), any());
+        assertNull(corrected.getRank());
+    }
+
+    @Test
+    void applyChange_CohortChange_ShouldCloseTheGapInTheOldCohortAndInsertIntoTheNewOne() {
+        when(distinctAbove(CLASS_10_B, 70.0)).thenReturn(4L);
+
+        Marksheet moved = marksheet(CLASS_10_B, 70.0);
+        engine.applyChange(10, CLASS_10_A, 70.0, moved);
+
+        shiftedBelow(verify(marksheetRepository), CLASS_10_A, 70.0, -1);
+        shiftedBelow(verify(marksheetRepository), CLASS_10_B, 70.0, 1);
+        verify(marksheetRepository).updateRank(eq(10), eq(5), any());
+        assertEquals(5, moved.getRank());
+    }
+
+    @Test
+    void recompute_ShouldLockTheCohortAndRunOneStatementForEveryChunkLength() {
+        when(cohortLockRepository.existsById(anyString())).thenReturn(true);
+        when(cohortLockRepository.findForUpdate(anyString())).thenReturn(Optional.of(new MarksheetCohortLock()));
+        when(entityManager.createQuery(anyString())).thenReturn(mock(Query.class));
+        when(scores(CLASS_10_A)).thenReturn(List.of(
+            new MarksheetScoreRow(1, 90.0, null), new MarksheetScoreRow(2, 80.0, null), new MarksheetScoreRow(3, 70.0, null),
+            new MarksheetScoreRow(4, 60.0, null), new MarksheetScoreRow(5, 50.0, null)));
+        when(scores(CLASS_10_B)).thenReturn(List.of(new MarksheetScoreRow(6, 90.0, null)));
+
+        engine.recompute(CLASS_10_A);
+        engine.recompute(CLASS_10_B);
+
+        verify(cohortLockRepository).findForUpdate("2025-2026|10|A|FINAL");
+        verify(cohortLockRepository).findForUpdate("2025-2026|10|B|FINAL");
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(3)).createQuery(statements.capture());
+        assertEquals(1, statements.getAllValues().stream().distinct().count());
+    }
+
+    private Long withPercentage(MarksheetRankEngine.Cohort cohort, double percentage) {
+        return marksheetRepository.countWithPercentageInCohort(cohort.academicYear(), cohort.className(),
+            cohort.section(), cohort.examType(), percentage, 10);
+    }
+
+    private Long distinctAbove(MarksheetRankEngine.Cohort cohort, double percentage) {
+        return marksheetRepository.countDistinctPercentagesAbove(cohort.academicYear(), cohort.className(),
+            cohort.section(), cohort.examType(), percentage, 10);
+    }
+
+    private List<MarksheetScoreRow> scores(MarksheetRankEngine.Cohort cohort) {
+        return marksheetRepository.findScoresByCohort(cohort.academicYear(), cohort.className(), cohort.section(), cohort.examType());
+    }
+
+    private static void shiftedBelow(MarksheetRepository verified, MarksheetRankEngine.Cohort cohort, double percentage, int delta) {
+        verified.shiftRanksBelow(eq(cohort.academicYear()), eq(cohort.className()), eq(cohort.section()), eq(cohort.examType()),
+            eq(percentage), eq(10), eq(delta), any());
+    }
+
+    private static Marksheet marksheet(MarksheetRankEngine.Cohort cohort, Double percentage) {
+        return Marksheet.builder()
+            .id(10)
+            .academicYear(cohort.academicYear())
+            .className(cohort.className())
+            .section(cohort.section())
+            .examType(cohort.examType())
+            .percentage(percentage)
+            .build();
+    }
+}
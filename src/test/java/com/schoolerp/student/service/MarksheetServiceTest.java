@@ -0,0 +1,67 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.dto.PublishMarksheetsRequestDto;
+import com.schoolerp.student.mapper.MarksheetMapper;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
+import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarksheetServiceTest {
+
+    private MarksheetRepository marksheetRepository;
+    private PublishedResultsCache publishedResultsCache;
+    private MarksheetService marksheetService;
+
+    @BeforeEach
+    void setUp() {
+        marksheetRepository = mock(MarksheetRepository.class);
+        publishedResultsCache = mock(PublishedResultsCache.class);
+        MarksheetSubjectMapper subjectMapper = new MarksheetSubjectMapper();
+        marksheetService = new MarksheetService(marksheetRepository, mock(MarksheetSubjectRepository.class), subjectMapper,
+            new MarksheetMapper(subjectMapper), mock(MarksheetRankEngine.class), publishedResultsCache);
+    }
+
+    @Test
+    void publishMarksheets_ShouldPublishAndWarmTheSameNarrowedCohort() {
+        when(marksheetRepository.findDraftStudentIds("2025-2026", "FINAL", "10", null)).thenReturn(List.of("7", "9"));
+        when(marksheetRepository.publishDrafts(eq("2025-2026"), eq("FINAL"), eq("10"), isNull(), eq(LocalDate.of(2026, 5, 1)), any()))
+            .thenReturn(2);
+
+        PublishMarksheetsRequestDto request = new PublishMarksheetsRequestDto();
+        request.setAcademicYear(" 2025-2026 ");
+        request.setExamType("FINAL ");
+        request.setClassName("10");
+        request.setSection(" ");
+        request.setPublishDate(LocalDate.of(2026, 5, 1));
+
+        assertEquals(2, marksheetService.publishMarksheets(request));
+        verify(publishedResultsCache).warmAfterCommit(List.of("7", "9"));
+    }
+
+    @Test
+    void publishMarksheets_ShouldPublishTheWholeExamWhenClassAndSectionAreOmitted() {
+        when(marksheetRepository.findDraftStudentIds("2025-2026", "FINAL", null, null)).thenReturn(List.of("7"));
+
+        PublishMarksheetsRequestDto request = new PublishMarksheetsRequestDto();
+        request.setAcademicYear("2025-2026");
+        request.setExamType("FINAL");
+
+        marksheetService.publishMarksheets(request);
+
+        verify(marksheetRepository).publishDrafts(eq("2025-2026"), eq("FINAL"), isNull(), isNull(), eq(LocalDate.now()), any());
+        verify(publishedResultsCache).warmAfterCommit(List.of("7"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.schoolerp.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolerp.student.dto.StudentMarksheetChangeRow;
+import com.schoolerp.student.entity.Marksheet;
+import com.schoolerp.student.mapper.MarksheetSubjectMapper;
+import com.schoolerp.student.repository.MarksheetRepository;
+import com.schoolerp.student.repository.MarksheetSubjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublishedResultsCacheTest {
+
+    private MarksheetRepository marksheetRepository;
+    private ThreadPoolTaskExecutor batchJobExecutor;
+    private PublishedResultsCache cache;
+
+    /**
+     * Published marksheets the repository currently returns, i.e. what a read sees at that moment
+     */
+    private final List<Marksheet> committed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        marksheetRepository = mock(MarksheetRepository.class);
+        when(marksheetRepository.findByStudentIdInAndStatusOrderById(anyCollection(), eq(Marksheet.MarksheetStatus.PUBLISHED)))
+            .thenAnswer(invocation -> List.copyOf(committed));
+        batchJobExecutor = mock(ThreadPoolTaskExecutor.class);
+        cache = new PublishedResultsCache(marksheetRepository, mock(MarksheetSubjectRepository.class),
+            new MarksheetSubjectMapper(), new ObjectMapper().findAndRegisterModules(),
+            batchJobExecutor, new SimpleMeterRegistry(), 100, 3600);
+    }
+
+    @Test
+    void syncChanges_ShouldEvictEntryReadBeforeTheCommit_EvenWhenUpdatedAtIsOlderThanTheRead() {
+        // A parent reads while the publish UPDATE has run but not committed: the read sees no results
+        assertEquals("[]", json("7"));
+
+        // The publish commits; its updatedAt is the statement time, before the read above started
+        committed.add(publishedMarksheet("7"));
+        when(marksheetRepository.findStudentChangesSince(any()))
+            .thenReturn(List.of(new StudentMarksheetChangeRow("7", LocalDateTime.now().minusSeconds(2))));
+        cache.syncChanges();
+
+        assertTrue(json("7").contains("\"studentId\":\"7\""));
+    }
+
+    @Test
+    void syncChanges_ShouldKeepEntryReadAfterTheSyncStarted() {
+        committed.add(publishedMarksheet("7"));
+        json("7");
+        // The entry is reloaded while the sync queries for changes, i.e. after the change had committed
+        when(marksheetRepository.findStudentChangesSince(any())).thenAnswer(invocation -> {
+            cache.evictAfterCommit(List.of("7"));
+            json("7");
+            return List.of(new StudentMarksheetChangeRow("7", LocalDateTime.now()));
+        });
+        cache.syncChanges();
+
+        json("7");
+        verify(marksheetRepository, times(2))
+            .findByStudentIdInAndStatusOrderById(anyCollection(), eq(Marksheet.MarksheetStatus.PUBLISHED));
+    }
+
+    @Test
+    void warmAfterCommit_ShouldStillEvictWhenTheJobExecutorRejectsTheWarmup() {
+        assertEquals("[]", json("7"));
+        committed.add(publishedMarksheet("7"));
+        doThrow(new TaskRejectedException("saturated")).when(batchJobExecutor).execute(any(Runnable.class));
+
+        assertDoesNotThrow(() -> cache.warmAfterCommit(List.of("7")));
+        assertTrue(json("7").contains("\"studentId\":\"7\""));
+    }
+
+    private String json(String studentId) {
+        return new String(cache.get(studentId), StandardCharsets.UTF_8);
+    }
+
+    private static Marksheet publishedMarksheet(String studentId) {
+        return Marksheet.builder()
+            .id(1)
+            .studentId(studentId)
+            .examType("FINAL")
+            .academicYear("2025-2026")
+            .status(Marksheet.MarksheetStatus.PUBLISHED)
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.schoolerp.student.service;
+
+import com.schoolerp.student.entity.Student;
+import com.schoolerp.student.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class StudentSearchIndexTest {
+
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StudentSearchIndex(mock(StudentRepository.class));
+        index.indexAfterCommit(student(1, "John", "Doe", "AD-2024-1001", 1, 8, 1));
+        index.indexAfterCommit(student(2, "Johnny", "Smith", "AD-2024-1002", 1, 9, 2));
+        index.indexAfterCommit(student(3, "Priya", "Johnson", "AD-2024-1003", 2, 8, 3));
+    }
+
+    @Test
+    void search_ShouldMatchSubstringAcrossNameAndAdmissionFields_NewestFirst() {
+        assertEquals(List.of(3, 2, 1), index.search("john", null, null));
+        assertEquals(List.of(2), index.search("1002", null, null));
+        assertEquals(List.of(1), index.search("DOE", null, null));
+    }
+
+    @Test
+    void search_ShouldApplyStatusAndClassFilters() {
+        assertEquals(List.of(1), index.search("john", 1, 8));
+        assertEquals(List.of(3), index.search("john", 2, null));
+    }
+
+    @Test
+    void search_ShouldHandleTermsShorterThanATrigram() {
+        assertEquals(List.of(3, 1), index.search("o", null, 8));
+        assertEquals(List.of(2), index.search("sm", null, null));
+    }
+
+    @Test
+    void search_ShouldNotMatchAcrossFieldBoundaries() {
+        assertTrue(index.search("hndo", null, null).isEmpty());
+        assertTrue(index.search("doead", null, null).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovals_ShouldBeReflectedImmediatelyOutsideTransactions() {
+        index.indexAfterCommit(student(1, "Jonathan", "Doe", "AD-2024-1001", 1, 8, 1));
+        assertEquals(List.of(3, 2), index.search("john", null, null));
+
+        index.removeAfterCommit(2);
+        assertEquals(List.of(3), index.search("john", null, null));
+    }
+
+    private static Student student(int id, String firstName, String lastName, String admissionNo,
+                                   int status, int classApplyingFor, int createdDay) {
+        return Student.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .admissionNo(admissionNo)
+                .status(status)
+                .classApplyingFor(classApplyingFor)
+                .createdAt(LocalDateTime.of(2024, 4, createdDay, 10, 0))
+                .build();
+    }
+}